@@ -0,0 +1,199 @@
+package com.example.skillhub.benchmarks;
+
+import com.example.skillhub.SkillHubApplication;
+import com.example.skillhub.domain.*;
+import com.example.skillhub.domain.dto.ProgressEvent;
+import com.example.skillhub.enums.*;
+import com.example.skillhub.repositories.*;
+import com.example.skillhub.services.ProgressService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * The application context on an in-memory H2 database seeded once per fork with a
+ * catalog of a realistic shape: instructors owning courses with lessons and sections,
+ * collaborators on some courses and learners with progress through several courses.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+
+    static final int INSTRUCTORS = 20;
+    static final int LEARNERS = 200;
+    static final int COURSES = 200;
+    static final int LESSONS_PER_COURSE = 8;
+    static final int SECTIONS_PER_LESSON = 5;
+    static final int COURSES_PER_LEARNER = 3;
+
+    ConfigurableApplicationContext context;
+    final List<Long> authorIds = new ArrayList<>();
+    final List<Long> courseIds = new ArrayList<>();
+    final List<Long> lessonIds = new ArrayList<>();
+    final List<Long> sectionIds = new ArrayList<>();
+    final List<Long> progressIds = new ArrayList<>();
+    final List<Long> courseUserIds = new ArrayList<>();
+    // (course, author) pairs for each branch of isUserAuthorized
+    long ownedCourseId;
+    long ownerId;
+    long collaboratorCourseId;
+    long collaboratorId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(SkillHubApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:jmh",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--search.index.snapshot-path=",
+                "--logging.level.root=WARN");
+        List<ProgressEvent> progress = context.getBean(TransactionTemplate.class).execute(status -> seed());
+        seedProgress(progress);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Saves the catalog and returns the learners' progress, which goes through
+     * {@link ProgressService#recordProgress} so the completion summaries match it.
+     */
+    private List<ProgressEvent> seed() {
+        Random random = new Random(42);
+        AuthorRepository authors = bean(AuthorRepository.class);
+        CourseRepository courses = bean(CourseRepository.class);
+        LessonRepository lessons = bean(LessonRepository.class);
+        CourseUserRepository courseUsers = bean(CourseUserRepository.class);
+        Date now = new Date();
+
+        List<Author> instructors = new ArrayList<>();
+        List<Author> learners = new ArrayList<>();
+        for (int i = 0; i < INSTRUCTORS + LEARNERS; i++) {
+            Author author = authors.save(Author.builder()
+                    .name("Author " + i)
+                    .email("author" + i + "@example.com")
+                    .phone("555-0100")
+                    .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6Y5RZ1yGg6XK8Y9hXNmvY4W")
+                    .role(i < INSTRUCTORS ? "ROLE_INSTRUCTOR" : "ROLE_USER")
+                    .status("active")
+                    .createdAt(now)
+                    .build());
+            (i < INSTRUCTORS ? instructors : learners).add(author);
+            authorIds.add(author.getId());
+        }
+
+        String[] categories = {"Programming", "Design", "Data", "Business", "Languages"};
+        String[] levels = {"Beginner", "Intermediate", "Advanced"};
+        Rating[] ratings = Rating.values();
+        List<List<Section>> sectionsByCourse = new ArrayList<>();
+        List<Course> savedCourses = new ArrayList<>();
+        for (int c = 0; c < COURSES; c++) {
+            Author owner = instructors.get(c % INSTRUCTORS);
+            Course course = courses.save(Course.builder()
+                    .title("Course " + c + " on " + categories[c % categories.length])
+                    .description("A practical course covering topic " + c + " from first principles to production use.")
+                    .image("https://cdn.example.com/courses/" + c + ".png")
+                    .category(categories[c % categories.length])
+                    .duration((4 + c % 20) + "h")
+                    .price(String.valueOf(19 + c % 80))
+                    .level(levels[c % levels.length])
+                    .status("active")
+                    .rating(ratings[random.nextInt(ratings.length)])
+                    .createdDate(now)
+                    .lastModifiedDate(now)
+                    .user(owner)
+                    .createdBy(owner.getEmail())
+                    .lastModifiedBy(owner.getEmail())
+                    .build());
+            savedCourses.add(course);
+            courseIds.add(course.getId());
+            courseUserIds.add(courseUsers.save(CourseUser.builder()
+                    .course(course).user(owner).role(UserRoleInCourse.AUTHOR).status(Status.ACTIVE).createdAt(now)
+                    .build()).getId());
+            if (c % 4 == 0) {
+                Author collaborator = instructors.get((c + 1) % INSTRUCTORS);
+                courseUserIds.add(courseUsers.save(CourseUser.builder()
+                        .course(course).user(collaborator).role(UserRoleInCourse.COLLABORATOR).status(Status.ACTIVE).createdAt(now)
+                        .build()).getId());
+            }
+
+            List<Section> courseSections = new ArrayList<>();
+            for (int l = 0; l < LESSONS_PER_COURSE; l++) {
+                Lesson lesson = Lesson.builder()
+                        .course(course)
+                        .title("Lesson " + l + " of course " + c)
+                        .description("What lesson " + l + " covers and why it matters.")
+                        .duration("25m")
+                        .level(course.getLevel())
+                        .status("active")
+                        .createdAt(now)
+                        .sections(new ArrayList<>())
+                        .build();
+                for (int s = 0; s < SECTIONS_PER_LESSON; s++) {
+                    lesson.getSections().add(Section.builder()
+                            .lesson(lesson)
+                            .title("Section " + s)
+                            .contentType(ContentType.TEXT)
+                            .contentText("Section " + s + ": " + "Walk through an example step by step. ".repeat(5))
+                            .createdAt(now)
+                            .build());
+                }
+                lesson = lessons.save(lesson);
+                lessonIds.add(lesson.getId());
+                for (Section section : lesson.getSections()) {
+                    sectionIds.add(section.getId());
+                    courseSections.add(section);
+                }
+            }
+            sectionsByCourse.add(courseSections);
+        }
+
+        // One progress row per (learner, section): each learner takes distinct courses
+        ProgressStatus[] statuses = ProgressStatus.values();
+        List<ProgressEvent> progress = new ArrayList<>();
+        for (Author learner : learners) {
+            Set<Integer> taken = new LinkedHashSet<>();
+            while (taken.size() < COURSES_PER_LEARNER) {
+                taken.add(random.nextInt(COURSES));
+            }
+            for (int c : taken) {
+                Course course = savedCourses.get(c);
+                for (Section section : sectionsByCourse.get(c)) {
+                    progress.add(new ProgressEvent(learner.getId(), course.getId(), section.getLesson().getId(),
+                            section.getId(), statuses[random.nextInt(statuses.length)], now));
+                }
+            }
+        }
+
+        ownedCourseId = courseIds.get(0);
+        ownerId = instructors.get(0).getId();
+        collaboratorCourseId = courseIds.get(0);
+        collaboratorId = instructors.get(1).getId();
+        return progress;
+    }
+
+    private void seedProgress(List<ProgressEvent> progress) {
+        ProgressService progressService = bean(ProgressService.class);
+        int perLearner = COURSES_PER_LEARNER * LESSONS_PER_COURSE * SECTIONS_PER_LESSON;
+        for (int i = 0; i < progress.size(); i += perLearner) {
+            progressService.recordProgress(progress.subList(i, Math.min(progress.size(), i + perLearner)));
+        }
+        for (Progress row : bean(ProgressRepository.class).findAll()) {
+            progressIds.add(row.getId());
+        }
+    }
+}
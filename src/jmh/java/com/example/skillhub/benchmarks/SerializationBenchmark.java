@@ -0,0 +1,135 @@
+package com.example.skillhub.benchmarks;
+
+import com.example.skillhub.domain.Author;
+import com.example.skillhub.domain.Course;
+import com.example.skillhub.domain.Lesson;
+import com.example.skillhub.domain.Progress;
+import com.example.skillhub.domain.Section;
+import com.example.skillhub.domain.dto.CourseResponse;
+import com.example.skillhub.domain.dto.LessonResponse;
+import com.example.skillhub.domain.dto.ProgressResponse;
+import com.example.skillhub.repositories.CourseRepository;
+import com.example.skillhub.repositories.LessonRepository;
+import com.example.skillhub.repositories.ProgressRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Hibernate;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Jackson output for one listing page worth of entities (with every association
+ * they drag in) against the response DTOs the controllers return, including the
+ * cost of mapping to the DTOs. Uses the application's own ObjectMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private ObjectMapper objectMapper;
+    private List<Course> courses;
+    private List<Lesson> lessons;
+    private List<Progress> progresses;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication app) throws JsonProcessingException {
+        objectMapper = app.bean(ObjectMapper.class);
+        CourseRepository courseRepository = app.bean(CourseRepository.class);
+        LessonRepository lessonRepository = app.bean(LessonRepository.class);
+        ProgressRepository progressRepository = app.bean(ProgressRepository.class);
+        app.bean(TransactionTemplate.class).executeWithoutResult(status -> {
+            courses = courseRepository.findAllById(app.courseIds.subList(0, PAGE_SIZE));
+            courses.forEach(SerializationBenchmark::initialize);
+            lessons = lessonRepository.findAllById(app.lessonIds.subList(0, PAGE_SIZE));
+            lessons.forEach(SerializationBenchmark::initialize);
+            progresses = progressRepository.findAllById(app.progressIds.subList(0, PAGE_SIZE));
+            // Each progress row serializes its learner, course, lesson and section
+            progresses.forEach(progress -> {
+                Hibernate.initialize(progress.getUser());
+                initialize(progress.getCourse());
+                initialize(progress.getLesson());
+                Hibernate.initialize(progress.getSection());
+            });
+        });
+        // Jackson cannot write a Hibernate proxy, initialized or not, so once the entities
+        // are detached every proxy they reach is swapped for the entity behind it
+        courses.forEach(SerializationBenchmark::unproxy);
+        lessons.forEach(SerializationBenchmark::unproxy);
+        progresses.forEach(progress -> {
+            progress.setUser(Hibernate.unproxy(progress.getUser(), Author.class));
+            progress.setCourse(unproxy(Hibernate.unproxy(progress.getCourse(), Course.class)));
+            progress.setLesson(unproxy(Hibernate.unproxy(progress.getLesson(), Lesson.class)));
+            progress.setSection(Hibernate.unproxy(progress.getSection(), Section.class));
+        });
+
+        System.out.printf("Payload bytes for %d rows (entities / DTOs): courses %d / %d, lessons %d / %d, progress %d / %d%n",
+                PAGE_SIZE,
+                coursesAsEntities().length, coursesAsResponses().length,
+                lessonsAsEntities().length, lessonsAsResponses().length,
+                progressAsEntities().length, progressAsResponses().length);
+    }
+
+    private static void initialize(Course course) {
+        Hibernate.initialize(course);
+        Hibernate.initialize(course.getUser());
+    }
+
+    /** A lesson serializes its course and its sections. */
+    private static void initialize(Lesson lesson) {
+        Hibernate.initialize(lesson);
+        initialize(lesson.getCourse());
+        Hibernate.initialize(lesson.getSections());
+        lesson.getSections().forEach(Hibernate::initialize);
+    }
+
+    private static Course unproxy(Course course) {
+        course.setUser(Hibernate.unproxy(course.getUser(), Author.class));
+        return course;
+    }
+
+    private static Lesson unproxy(Lesson lesson) {
+        lesson.setCourse(unproxy(Hibernate.unproxy(lesson.getCourse(), Course.class)));
+        lesson.setSections(lesson.getSections().stream()
+                .map(section -> Hibernate.unproxy(section, Section.class))
+                .collect(Collectors.toCollection(ArrayList::new)));
+        return lesson;
+    }
+
+    @Benchmark
+    public byte[] coursesAsEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(courses);
+    }
+
+    @Benchmark
+    public byte[] coursesAsResponses() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(courses.stream().map(CourseResponse::from).toList());
+    }
+
+    @Benchmark
+    public byte[] lessonsAsEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(lessons);
+    }
+
+    @Benchmark
+    public byte[] lessonsAsResponses() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(lessons.stream().map(LessonResponse::from).toList());
+    }
+
+    @Benchmark
+    public byte[] progressAsEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(progresses);
+    }
+
+    @Benchmark
+    public byte[] progressAsResponses() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(progresses.stream().map(ProgressResponse::from).toList());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.skillhub.benchmarks;
+
+import com.example.skillhub.domain.*;
+import com.example.skillhub.enums.ProgressStatus;
+import com.example.skillhub.enums.Status;
+import com.example.skillhub.services.*;
+import com.example.skillhub.services.impl.CourseAuthorizationCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The write path of each service's {@code partialUpdate} and the three outcomes of
+ * {@code CourseServiceImpl.isUserAuthorized}: a cached decision, and an uncached one
+ * for an owner and for a collaborator.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServiceBenchmark {
+
+    private SeededApplication app;
+    private AuthorService authorService;
+    private CourseService courseService;
+    private LessonService lessonService;
+    private SectionService sectionService;
+    private ProgressService progressService;
+    private CourseUserService courseUserService;
+    private CourseAuthorizationCache authorizationCache;
+    private Author owner;
+    private Author collaborator;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication app) {
+        this.app = app;
+        authorService = app.bean(AuthorService.class);
+        courseService = app.bean(CourseService.class);
+        lessonService = app.bean(LessonService.class);
+        sectionService = app.bean(SectionService.class);
+        progressService = app.bean(ProgressService.class);
+        courseUserService = app.bean(CourseUserService.class);
+        authorizationCache = app.bean(CourseAuthorizationCache.class);
+        owner = Author.builder().id(app.ownerId).build();
+        collaborator = Author.builder().id(app.collaboratorId).build();
+    }
+
+    @Benchmark
+    public Author authorPartialUpdate() {
+        return authorService.partialUpdate(pick(app.authorIds), Author.builder().phone(revision()).build());
+    }
+
+    @Benchmark
+    public Course coursePartialUpdate() {
+        return courseService.partialUpdate(pick(app.courseIds), Course.builder()
+                .description("Revised description " + revision())
+                .lastModifiedBy("bench@example.com")
+                .build(), null);
+    }
+
+    @Benchmark
+    public Lesson lessonPartialUpdate() {
+        return lessonService.partialUpdate(pick(app.lessonIds), Lesson.builder().description("Revised " + revision()).build(), null);
+    }
+
+    @Benchmark
+    public Section sectionPartialUpdate() {
+        return sectionService.partialUpdate(pick(app.sectionIds), Section.builder().contentText("Revised " + revision()).build(), null);
+    }
+
+    @Benchmark
+    public Progress progressPartialUpdate() {
+        ProgressStatus[] statuses = ProgressStatus.values();
+        return progressService.partialUpdate(pick(app.progressIds), Progress.builder()
+                .status(statuses[ThreadLocalRandom.current().nextInt(statuses.length)])
+                .build());
+    }
+
+    @Benchmark
+    public CourseUser courseUserPartialUpdate() {
+        return courseUserService.partialUpdate(pick(app.courseUserIds), CourseUser.builder()
+                .status(Status.ACTIVE)
+                .build());
+    }
+
+    @Benchmark
+    public boolean isUserAuthorizedCached() {
+        return courseService.isUserAuthorized(app.ownedCourseId, owner);
+    }
+
+    @Benchmark
+    public boolean isUserAuthorizedOwnerUncached() {
+        authorizationCache.invalidate(app.ownedCourseId, owner.getId());
+        return courseService.isUserAuthorized(app.ownedCourseId, owner);
+    }
+
+    @Benchmark
+    public boolean isUserAuthorizedCollaboratorUncached() {
+        authorizationCache.invalidate(app.collaboratorCourseId, collaborator.getId());
+        return courseService.isUserAuthorized(app.collaboratorCourseId, collaborator);
+    }
+
+    private static Long pick(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static String revision() {
+        return Long.toString(ThreadLocalRandom.current().nextLong(1_000_000));
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.skillhub.config;
+
+import com.example.skillhub.exceptions.LoginCapacityExceededException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Treats the rehash that follows a successful password check as optional. The
+ * password has been verified by then, so when {@link BoundedPasswordEncoder}
+ * turns the new hash away the login still succeeds with the stored hash left as
+ * it was, and the rehash is tried again on a later login.
+ */
+class BestEffortRehashAuthenticationProvider extends DaoAuthenticationProvider {
+
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication, UserDetails user) {
+        try {
+            return super.createSuccessAuthentication(principal, authentication, user);
+        } catch (LoginCapacityExceededException ex) {
+            UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+                    principal, authentication.getCredentials(), user.getAuthorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+    }
+}
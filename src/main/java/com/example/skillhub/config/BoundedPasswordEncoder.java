@@ -0,0 +1,135 @@
+package com.example.skillhub.config;
+
+import com.example.skillhub.exceptions.LoginCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder that hashes on a small fixed pool instead of the request thread.
+ * A burst of logins therefore queues behind a bounded number of CPU-bound hashes,
+ * and once the queue is full further attempts fail fast with
+ * {@link LoginCapacityExceededException} rather than tying up every Tomcat thread.
+ * <p>
+ * A login is also turned away before it is queued when the hashes ahead of it,
+ * at the measured time per hash, would not finish within {@code maxWait}. The
+ * timeout on the result only backs that estimate up: bcrypt cannot be interrupted,
+ * so a hash that has started when its caller gives up still runs to completion
+ * and holds its thread, and only a hash still queued is skipped.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[abxy]?\\$(\\d\\d)\\$");
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final Duration maxWait;
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+    // Moving average of one hash; racy updates only blur an estimate
+    private volatile long hashNanos;
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, Duration maxWait, MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.maxWait = maxWait;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hashing-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, "passwordHashing", Collections.emptyList()).bindTo(meterRegistry);
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Password hashing requests rejected because the pool was saturated")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Any hash whose cost differs from the configured strength is re-encoded on the
+     * next successful login, so lowering the work factor takes effect as well as raising it.
+     * The rehash is extra work for a login that has already succeeded, so it is put
+     * off while the pool is too busy to take it within {@code maxWait}.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || expectedWaitNanos() > maxWait.toNanos()) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    private <T> T execute(Callable<T> task) {
+        if (expectedWaitNanos() > maxWait.toNanos()) {
+            rejected.increment();
+            throw new LoginCapacityExceededException("Too many concurrent logins, please retry shortly");
+        }
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timed(task));
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new LoginCapacityExceededException("Too many concurrent logins, please retry shortly");
+        }
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            rejected.increment();
+            throw new LoginCapacityExceededException("Too many concurrent logins, please retry shortly");
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new LoginCapacityExceededException("Login interrupted");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    /**
+     * Time until a hash submitted now would finish: the rounds of hashes queued
+     * or running ahead of it, plus its own. Zero until a hash has been timed.
+     */
+    private long expectedWaitNanos() {
+        int ahead = executor.getQueue().size() + executor.getActiveCount();
+        return (ahead / executor.getMaximumPoolSize() + 1) * hashNanos;
+    }
+
+    private <T> T timed(Callable<T> task) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return task.call();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            long previous = hashNanos;
+            hashNanos = previous == 0 ? elapsed : previous + (elapsed - previous) / 8;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
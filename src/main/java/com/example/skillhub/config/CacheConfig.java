@@ -0,0 +1,54 @@
+package com.example.skillhub.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+@Configuration
+public class CacheConfig {
+
+    // Regions referenced by the @Cache annotations on the entities
+    private static final List<String> ENTITY_REGIONS = List.of("author", "course", "lesson", "section", "lesson.sections");
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Value("${cache.second-level.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${cache.second-level.expire-after-write:10m}")
+    private Duration expireAfterWrite;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        // A dedicated provider instance keeps the regions private to this application context
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        for (String region : ENTITY_REGIONS) {
+            cacheManager.createCache(region, boundedRegion());
+        }
+        cacheManager.createCache(QUERY_RESULTS_REGION, boundedRegion());
+        // Timestamps must outlive every cached query result, so this region is never evicted
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private CaffeineConfiguration<Object, Object> boundedRegion() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        return configuration;
+    }
+}
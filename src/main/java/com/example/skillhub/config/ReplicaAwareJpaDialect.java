@@ -0,0 +1,79 @@
+package com.example.skillhub.config;
+
+import com.example.skillhub.config.ReplicaRoutingDataSource.Target;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+/**
+ * Chooses the pool when a JPA transaction begins and keeps the second-level
+ * and query caches consistent with it. A session reading from the replica may
+ * see rows from before a recent write, or rows already deleted on the primary,
+ * so it never puts into the caches: only data read from the primary or written
+ * through it is cached.
+ */
+class ReplicaAwareJpaDialect extends HibernateJpaDialect {
+
+    private record ReplicaTransactionData(Object transactionData, Target previousTarget,
+                                          Session session, CacheMode previousCacheMode,
+                                          CacheStoreMode previousStoreMode) {
+    }
+
+    private final ReplicaRoutingDataSource routing;
+
+    ReplicaAwareJpaDialect(ReplicaRoutingDataSource routing) {
+        this.routing = routing;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+        Target previousTarget = routing.pinned();
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previousCacheMode = session.getCacheMode();
+        CacheStoreMode previousStoreMode = session.getCacheStoreMode();
+        if (routing.pin(definition.isReadOnly()) == Target.REPLICA) {
+            setCacheModes(session, CacheMode.IGNORE, CacheStoreMode.BYPASS);
+        }
+        try {
+            return new ReplicaTransactionData(super.beginTransaction(entityManager, definition),
+                    previousTarget, session, previousCacheMode, previousStoreMode);
+        } catch (SQLException | RuntimeException e) {
+            setCacheModes(session, previousCacheMode, previousStoreMode);
+            routing.restore(previousTarget);
+            throw e;
+        }
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        ReplicaTransactionData data = (ReplicaTransactionData) transactionData;
+        try {
+            super.cleanupTransaction(data.transactionData());
+        } finally {
+            if (data.session().isOpen()) {
+                setCacheModes(data.session(), data.previousCacheMode(), data.previousStoreMode());
+            }
+            routing.restore(data.previousTarget());
+        }
+    }
+
+    /**
+     * Queries follow the session's cache mode, which for the replica is
+     * {@code IGNORE}: under {@code GET} Hibernate still stores the results of a
+     * query cache miss. {@code find()} instead derives its mode from the store
+     * mode property, so with {@code BYPASS} it keeps reading the entity cache.
+     * The property goes first because setting it also resets the cache mode.
+     */
+    private static void setCacheModes(Session session, CacheMode cacheMode, CacheStoreMode storeMode) {
+        session.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, storeMode);
+        session.setCacheMode(cacheMode);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.skillhub.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Measures replication lag with a heartbeat row: every {@code heartbeat-interval}
+ * the current time is written to {@code replica_heartbeat} on the primary and
+ * read back from the replica, and the difference is the lag. The replica is
+ * usable while that stays within {@code max-lag}; when it falls behind, cannot
+ * be reached or has not received a heartbeat yet, read-only transactions go to
+ * the primary until it catches up.
+ * <p>
+ * Instances sharing a database write the same row, so their clocks should agree
+ * to well within {@code max-lag}.
+ */
+public class ReplicaLagMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private final Duration interval;
+
+    private volatile boolean running;
+    private volatile boolean usable;
+    private volatile double lagSeconds = Double.NaN;
+    private Thread checker;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, Duration interval,
+                             MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+        this.interval = interval;
+
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Seconds the read replica is behind the primary; NaN while it cannot be measured")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("replica-lag-");
+        threadFactory.setDaemon(true);
+        checker = threadFactory.newThread(this::checkLoop);
+        checker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (checker != null) {
+            checker.interrupt();
+        }
+        usable = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void checkLoop() {
+        while (running) {
+            beat();
+            check();
+            try {
+                Thread.sleep(interval.toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void beat() {
+        long now = System.currentTimeMillis();
+        try {
+            if (primary.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", now) == 0) {
+                primary.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", now);
+            }
+        } catch (DuplicateKeyException e) {
+            // Another instance inserted the row first; its beat serves as well
+        } catch (DataAccessException e) {
+            log.warn("Could not write the replica heartbeat: {}", e.getMessage());
+        }
+    }
+
+    private void check() {
+        boolean wasUsable = usable;
+        Long beatAt;
+        try {
+            beatAt = replica.query("SELECT beat_at FROM replica_heartbeat WHERE id = 1",
+                    rs -> rs.next() ? rs.getLong(1) : null);
+        } catch (DataAccessException e) {
+            markUnusable(wasUsable, "unreachable: " + e.getMessage());
+            return;
+        }
+        if (beatAt == null) {
+            markUnusable(wasUsable, "has no heartbeat yet");
+            return;
+        }
+        long lagMillis = Math.max(0, System.currentTimeMillis() - beatAt);
+        lagSeconds = lagMillis / 1000.0;
+        usable = lagMillis <= maxLag.toMillis();
+        if (wasUsable && !usable) {
+            log.warn("Read replica is {}s behind (max {}), reading from the primary", lagSeconds, maxLag);
+        } else if (!wasUsable && usable) {
+            log.info("Read replica is {}s behind, serving read-only transactions from it", lagSeconds);
+        }
+    }
+
+    private void markUnusable(boolean wasUsable, String reason) {
+        lagSeconds = Double.NaN;
+        usable = false;
+        if (wasUsable) {
+            log.warn("Read replica {}, reading from the primary", reason);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.skillhub.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Hands connections for read-only transactions to the replica pool while
+ * {@link ReplicaLagMonitor} considers it current enough, and everything else to
+ * the primary. {@link ReplicaAwareJpaDialect} picks the pool when a JPA
+ * transaction begins and pins it for that transaction, so the session's cache
+ * mode can follow the choice. Outside such a transaction the decision reads the
+ * read-only flag, which Spring sets only after the transaction has begun, so
+ * this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} that
+ * defers the real connection to the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Target> pinned = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter replicaReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.replicaReads = reads(meterRegistry, "replica");
+        this.fallbackReads = reads(meterRegistry, "primary");
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    private static Counter reads(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.readonly.connections")
+                .description("Connections taken for read-only transactions, by the pool that served them; "
+                        + "primary means the replica was lagging or unreachable")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Picks the pool for a transaction about to begin and routes this thread's
+     * connections to it until {@link #restore} is called.
+     */
+    Target pin(boolean readOnly) {
+        Target target = readOnly ? forRead() : Target.PRIMARY;
+        pinned.set(target);
+        return target;
+    }
+
+    Target pinned() {
+        return pinned.get();
+    }
+
+    void restore(Target previous) {
+        if (previous == null) {
+            pinned.remove();
+        } else {
+            pinned.set(previous);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Target target = pinned.get();
+        if (target != null) {
+            return target;
+        }
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? forRead() : Target.PRIMARY;
+    }
+
+    private Target forRead() {
+        if (lagMonitor.isReplicaUsable()) {
+            replicaReads.increment();
+            return Target.REPLICA;
+        }
+        fallbackReads.increment();
+        return Target.PRIMARY;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.skillhub.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Checks once the application is up that the indexes the queries rely on exist,
+ * and logs each one that doesn't; {@code schema.indexes.missing} counts them.
+ * The migrations create all of them, so a miss means an index dropped by hand.
+ * Any index whose leading columns match will do, whatever its name.
+ */
+@Component
+public class SchemaIndexCheck {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaIndexCheck.class);
+
+    private record ExpectedIndex(String table, List<String> columns, boolean unique) {
+    }
+
+    private static final List<ExpectedIndex> EXPECTED = List.of(
+            new ExpectedIndex("progress", List.of("user_id", "section_id"), true),
+            new ExpectedIndex("course_user", List.of("course_id", "user_id", "role"), false),
+            new ExpectedIndex("progress", List.of("user_id", "course_id"), false),
+            new ExpectedIndex("progress", List.of("section_id"), false),
+            new ExpectedIndex("progress", List.of("course_id"), false),
+            new ExpectedIndex("progress", List.of("lesson_id"), false),
+            new ExpectedIndex("lesson", List.of("course_id"), false),
+            new ExpectedIndex("section", List.of("lesson_id"), false),
+            new ExpectedIndex("course", List.of("created_date", "id"), false),
+            new ExpectedIndex("lesson", List.of("created_at", "id"), false),
+            new ExpectedIndex("section", List.of("created_at", "id"), false),
+            new ExpectedIndex("progress", List.of("created_at", "id"), false),
+            new ExpectedIndex("course_user", List.of("course_id", "created_at", "id"), false)
+    );
+
+    private record IndexInfo(boolean unique, List<String> columns) {
+    }
+
+    private final DataSource dataSource;
+    private volatile int missing;
+
+    @Autowired
+    public SchemaIndexCheck(DataSource dataSource, MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        Gauge.builder("schema.indexes.missing", this, check -> check.missing)
+                .description("Expected database indexes not found at startup")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkIndexes() {
+        try {
+            int count = 0;
+            for (ExpectedIndex expected : EXPECTED) {
+                if (!hasIndex(expected)) {
+                    count++;
+                    log.warn("Missing {}index on {} ({}); queries filtering on it will scan the table",
+                            expected.unique() ? "unique " : "", expected.table(), String.join(", ", expected.columns()));
+                }
+            }
+            missing = count;
+            if (count == 0) {
+                log.info("All {} expected indexes are present", EXPECTED.size());
+            }
+        } catch (SQLException e) {
+            log.warn("Could not read index metadata: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Whether an index starts with the expected columns in order; a unique one must
+     * cover exactly those columns, since a wider unique index enforces less.
+     */
+    private boolean hasIndex(ExpectedIndex expected) throws SQLException {
+        for (IndexInfo index : indexesOf(expected.table(), expected.unique())) {
+            boolean matches = expected.unique()
+                    ? index.unique() && new HashSet<>(index.columns()).equals(new HashSet<>(expected.columns()))
+                    : index.columns().size() >= expected.columns().size()
+                      && index.columns().subList(0, expected.columns().size()).equals(expected.columns());
+            if (matches) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Collection<IndexInfo> indexesOf(String table, boolean uniqueOnly) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+            Map<String, Boolean> uniqueByIndex = new HashMap<>();
+            Map<String, SortedMap<Short, String>> columnsByIndex = new HashMap<>();
+            try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), null, name, uniqueOnly, false)) {
+                while (rs.next()) {
+                    String index = rs.getString("INDEX_NAME");
+                    String column = rs.getString("COLUMN_NAME");
+                    if (index != null && column != null) {
+                        uniqueByIndex.put(index, !rs.getBoolean("NON_UNIQUE"));
+                        columnsByIndex.computeIfAbsent(index, key -> new TreeMap<>())
+                                .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            List<IndexInfo> indexes = new ArrayList<>();
+            columnsByIndex.forEach((index, columns) ->
+                    indexes.add(new IndexInfo(uniqueByIndex.get(index), List.copyOf(columns.values()))));
+            return indexes;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.skillhub.config;
 
+import com.example.skillhub.exceptions.LoginCapacityExceededException;
 import com.example.skillhub.services.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,16 +17,20 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.AuthenticationFailureHandler;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.security.web.authentication.logout.LogoutSuccessHandler;
+import org.springframework.security.web.context.DelegatingSecurityContextRepository;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
@@ -34,10 +40,27 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
 
     @Value("${cors.allowed.origins}") // Inject the value from application.properties
     private String corsAllowedOrigins;
 
+    // "session" (form login + HTTP session) or "token" (stateless bearer tokens)
+    @Value("${security.auth.mode:session}")
+    private String authMode;
+
+    @Value("${security.bcrypt.strength:14}")
+    private int bcryptStrength;
+
+    @Value("${security.bcrypt.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int bcryptThreads;
+
+    @Value("${security.bcrypt.queue-capacity:64}")
+    private int bcryptQueueCapacity;
+
+    @Value("${security.bcrypt.max-wait:2s}")
+    private Duration bcryptMaxWait;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -47,37 +70,67 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll() // Allow access to auth endpoints
                         .anyRequest().authenticated()
                 )
-                .formLogin(form -> form
-                        .loginProcessingUrl("/api/auth/login")
-                        .usernameParameter("email")
-                        .passwordParameter("password")
-                        .successHandler(authenticationSuccessHandler())
-                        .failureHandler(authenticationFailureHandler())
-                        .permitAll()
-                )
-                .logout(logout -> logout
-                        .logoutRequestMatcher(new AntPathRequestMatcher("/api/auth/logout", "POST"))
-                        .logoutSuccessHandler(logoutSuccessHandler())
-                        .invalidateHttpSession(true)
-                        .deleteCookies("JSESSIONID")
-                        .permitAll()
-                )
-                .sessionManagement(session -> session
-                        .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)
+                .securityContext(context -> context
+                        .securityContextRepository(securityContextRepository())
                 )
                 .authenticationProvider(authenticationProvider());
 
+        if (isTokenMode()) {
+            // AuthController issues and revokes tokens; requests authenticate from the token alone
+            http
+                    .sessionManagement(session -> session
+                            .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                    )
+                    .oauth2ResourceServer(oauth2 -> oauth2
+                            .jwt(jwt -> jwt.jwtAuthenticationConverter(new TokenAuthenticationConverter()))
+                    );
+        } else {
+            http
+                    .formLogin(form -> form
+                            .loginProcessingUrl("/api/auth/login")
+                            .usernameParameter("email")
+                            .passwordParameter("password")
+                            .successHandler(authenticationSuccessHandler())
+                            .failureHandler(authenticationFailureHandler())
+                            .permitAll()
+                    )
+                    .logout(logout -> logout
+                            .logoutRequestMatcher(new AntPathRequestMatcher("/api/auth/logout", "POST"))
+                            .logoutSuccessHandler(logoutSuccessHandler())
+                            .invalidateHttpSession(true)
+                            .deleteCookies("JSESSIONID")
+                            .permitAll()
+                    )
+                    .sessionManagement(session -> session
+                            .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)
+                    );
+        }
+
         return http.build();
     }
 
     @Bean
     public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        DaoAuthenticationProvider provider = new BestEffortRehashAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder());
+        // Re-encodes stored hashes whose cost no longer matches security.bcrypt.strength
+        provider.setUserDetailsPasswordService(userDetailsService);
         return provider;
     }
 
+    // Shared with AuthController so it can store a refreshed principal in the session
+    @Bean
+    public SecurityContextRepository securityContextRepository() {
+        if (isTokenMode()) {
+            return new RequestAttributeSecurityContextRepository();
+        }
+        return new DelegatingSecurityContextRepository(
+                new RequestAttributeSecurityContextRepository(),
+                new HttpSessionSecurityContextRepository()
+        );
+    }
+
     // Define AuthenticationManager bean
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
@@ -86,8 +139,8 @@ public class SecurityConfig {
 
     // Password encoder bean
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(14);
+    public BoundedPasswordEncoder passwordEncoder() {
+        return new BoundedPasswordEncoder(bcryptStrength, bcryptThreads, bcryptQueueCapacity, bcryptMaxWait, meterRegistry);
     }
 
     // CORS configuration
@@ -118,12 +171,22 @@ public class SecurityConfig {
     @Bean
     public AuthenticationFailureHandler authenticationFailureHandler() {
         return (request, response, exception) -> {
+            if (exception instanceof LoginCapacityExceededException) {
+                response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                response.setHeader("Retry-After", "1");
+                response.getWriter().write(exception.getMessage());
+                return;
+            }
             // Customize response on authentication failure
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.getWriter().write("Login failed: " + exception.getMessage());
         };
     }
 
+    private boolean isTokenMode() {
+        return "token".equalsIgnoreCase(authMode);
+    }
+
     // Logout success handler
     @Bean
     public LogoutSuccessHandler logoutSuccessHandler() {
@@ -0,0 +1,72 @@
+package com.example.skillhub.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements each request issues, security filters included, and
+ * records them as {@code sql.statements.per.request} per endpoint. Requests over
+ * {@code sql.statements.budget} are logged with their most repeated statement,
+ * which for an N+1 pattern is the per-row select.
+ * <p>
+ * The counts are left on the request under {@link #COUNTS_ATTRIBUTE} for tests.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+    public static final String COUNTS_ATTRIBUTE = SqlStatementBudgetFilter.class.getName() + ".counts";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementBudgetFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int budget;
+
+    @Autowired
+    public SqlStatementBudgetFilter(MeterRegistry meterRegistry,
+                                    @Value("${sql.statements.budget:25}") int budget) {
+        this.meterRegistry = meterRegistry;
+        this.budget = budget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.Counts counts;
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            counts = scope.counts();
+            request.setAttribute(COUNTS_ATTRIBUTE, counts);
+            filterChain.doFilter(request, response);
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("sql.statements.per.request")
+                .description("SQL statements issued while handling one HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(counts.total());
+
+        if (budget > 0 && counts.total() > budget) {
+            Map.Entry<String, Integer> repeated = counts.mostRepeated();
+            log.warn("{} {} issued {}, over the budget of {}; most repeated ({}x): {}",
+                    request.getMethod(), uri, counts, budget, repeated.getValue(), repeated.getKey());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.skillhub.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a
+ * count is open. {@link SqlStatementBudgetFilter} opens one per HTTP request;
+ * tests can wrap any block in {@link #count(Runnable)}.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    public static final class Counts {
+        private int selects;
+        private int inserts;
+        private int updates;
+        private int deletes;
+        private int other;
+        // How often each distinct statement ran; N+1 loads show up as one select repeated many times
+        private final Map<String, Integer> repeats = new HashMap<>();
+
+        private void record(String sql) {
+            String trimmed = sql.stripLeading();
+            String verb = trimmed.length() >= 6 ? trimmed.substring(0, 6).toLowerCase(Locale.ROOT) : "";
+            switch (verb) {
+                case "select" -> selects++;
+                case "insert" -> inserts++;
+                case "update" -> updates++;
+                case "delete" -> deletes++;
+                default -> other++;
+            }
+            repeats.merge(trimmed, 1, Integer::sum);
+        }
+
+        public int total() {
+            return selects + inserts + updates + deletes + other;
+        }
+
+        public int selects() {
+            return selects;
+        }
+
+        public int inserts() {
+            return inserts;
+        }
+
+        public int updates() {
+            return updates;
+        }
+
+        public int deletes() {
+            return deletes;
+        }
+
+        /**
+         * The statement that ran most often, or {@code null} when nothing ran.
+         */
+        public Map.Entry<String, Integer> mostRepeated() {
+            return repeats.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+        }
+
+        @Override
+        public String toString() {
+            return total() + " statements (" + selects + " select, " + inserts + " insert, "
+                    + updates + " update, " + deletes + " delete, " + other + " other)";
+        }
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.record(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Starts counting on this thread until the returned scope is closed. A count
+     * already open on the thread (an enclosing request, say) is paused meanwhile.
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope.counts);
+        return scope;
+    }
+
+    public static Counts count(Runnable action) {
+        try (Scope scope = open()) {
+            action.run();
+            return scope.counts();
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final Counts outer;
+        private final Counts counts = new Counts();
+
+        private Scope(Counts outer) {
+            this.outer = outer;
+        }
+
+        public Counts counts() {
+            return counts;
+        }
+
+        @Override
+        public void close() {
+            if (outer != null) {
+                CURRENT.set(outer);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
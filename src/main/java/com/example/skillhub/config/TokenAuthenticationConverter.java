@@ -0,0 +1,55 @@
+package com.example.skillhub.config;
+
+import com.example.skillhub.domain.Author;
+import com.example.skillhub.domain.CustomUserDetails;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Builds the usual {@link CustomUserDetails} principal from token claims alone,
+ * so bearer-authenticated requests never touch the database. The author is a
+ * detached stub carrying only id, email, name and role.
+ */
+public class TokenAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+    public static final String AUTHOR_ID_CLAIM = "uid";
+    public static final String NAME_CLAIM = "name";
+    public static final String ROLE_CLAIM = "role";
+
+    @Override
+    public AbstractAuthenticationToken convert(Jwt jwt) {
+        Author author = Author.builder()
+                .id(((Number) jwt.getClaim(AUTHOR_ID_CLAIM)).longValue())
+                .email(jwt.getSubject())
+                .name(jwt.getClaimAsString(NAME_CLAIM))
+                .role(jwt.getClaimAsString(ROLE_CLAIM))
+                .status("active")
+                .build();
+        return new TokenAuthentication(new CustomUserDetails(author), jwt);
+    }
+
+    // Unlike UsernamePasswordAuthenticationToken the token survives credential erasure, so logout can revoke it
+    public static final class TokenAuthentication extends AbstractAuthenticationToken {
+
+        private final CustomUserDetails principal;
+        private final Jwt token;
+
+        private TokenAuthentication(CustomUserDetails principal, Jwt token) {
+            super(principal.getAuthorities());
+            this.principal = principal;
+            this.token = token;
+            setAuthenticated(true);
+        }
+
+        @Override
+        public CustomUserDetails getPrincipal() {
+            return principal;
+        }
+
+        @Override
+        public Jwt getCredentials() {
+            return token;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.skillhub.config;
+
+import com.example.skillhub.services.TokenService;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.*;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+// Beans for security.auth.mode=token; SecurityConfig switches the filter chain over to them
+@Configuration
+@ConditionalOnProperty(name = "security.auth.mode", havingValue = "token")
+public class TokenConfig {
+
+    @Bean
+    public TokenKeyRing tokenKeyRing(@Value("${security.token.secret:}") String secret,
+                                     @Value("${security.token.rotation-interval:12h}") Duration rotationInterval,
+                                     @Value("${security.token.ttl:1h}") Duration ttl) {
+        byte[] masterSecret;
+        if (secret.isBlank()) {
+            // Without a shared secret tokens are only valid on this instance until it restarts
+            masterSecret = new byte[32];
+            new SecureRandom().nextBytes(masterSecret);
+        } else {
+            masterSecret = Base64.getDecoder().decode(secret);
+        }
+        return new TokenKeyRing(masterSecret, rotationInterval, ttl);
+    }
+
+    @Bean
+    public JwtEncoder jwtEncoder(TokenKeyRing keyRing) {
+        return new NimbusJwtEncoder(keyRing);
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(TokenKeyRing keyRing, TokenService tokenService) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.HS256, keyRing));
+        // Claims are checked by the validators below
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefault(),
+                jwt -> tokenService.isRevoked(jwt.getId())
+                        ? OAuth2TokenValidatorResult.failure(new OAuth2Error(OAuth2ErrorCodes.INVALID_TOKEN, "Token has been revoked", null))
+                        : OAuth2TokenValidatorResult.success()
+        ));
+        return decoder;
+    }
+}
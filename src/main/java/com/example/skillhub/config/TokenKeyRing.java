@@ -0,0 +1,96 @@
+package com.example.skillhub.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory HMAC signing keys for bearer tokens. Time is split into rotation
+ * epochs and each epoch gets its own key, derived from a master secret and
+ * identified by the epoch number as {@code kid}. Tokens are signed with the
+ * current epoch's key and accepted while their epoch is recent enough to still
+ * hold unexpired tokens. Instances configured with the same master secret
+ * derive the same keys, so nothing has to be shared or stored.
+ */
+public class TokenKeyRing implements JWKSource<SecurityContext> {
+
+    private final byte[] masterSecret;
+    private final long rotationMillis;
+    private final long retainedEpochs;
+    private final Map<Long, OctetSequenceKey> keys = new ConcurrentHashMap<>();
+
+    public TokenKeyRing(byte[] masterSecret, Duration rotationInterval, Duration tokenTtl) {
+        if (masterSecret.length < 32) {
+            throw new IllegalArgumentException("Token master secret must be at least 256 bits");
+        }
+        this.masterSecret = masterSecret.clone();
+        this.rotationMillis = rotationInterval.toMillis();
+        // A token issued at the very end of an epoch stays valid for one ttl past it
+        this.retainedEpochs = (tokenTtl.toMillis() + rotationMillis - 1) / rotationMillis;
+    }
+
+    public String currentKeyId() {
+        return Long.toString(currentEpoch());
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        Set<String> keyIds = jwkSelector.getMatcher().getKeyIDs();
+        if (keyIds == null) {
+            return List.of();
+        }
+        long current = currentEpoch();
+        keys.keySet().removeIf(epoch -> epoch < current - retainedEpochs);
+        List<JWK> candidates = new ArrayList<>();
+        for (String keyId : keyIds) {
+            Long epoch = parseEpoch(keyId);
+            if (epoch != null && epoch <= current && epoch >= current - retainedEpochs) {
+                candidates.add(keys.computeIfAbsent(epoch, this::deriveKey));
+            }
+        }
+        return jwkSelector.select(new JWKSet(candidates));
+    }
+
+    private long currentEpoch() {
+        return System.currentTimeMillis() / rotationMillis;
+    }
+
+    private OctetSequenceKey deriveKey(long epoch) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(masterSecret, "HmacSHA256"));
+            byte[] key = mac.doFinal(("skillhub-token-key:" + epoch).getBytes(StandardCharsets.UTF_8));
+            return new OctetSequenceKey.Builder(key)
+                    .keyID(Long.toString(epoch))
+                    .algorithm(JWSAlgorithm.HS256)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .build();
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 is not available", ex);
+        }
+    }
+
+    private static Long parseEpoch(String keyId) {
+        try {
+            return Long.parseLong(keyId);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
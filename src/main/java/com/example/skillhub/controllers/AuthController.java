@@ -2,25 +2,38 @@ package com.example.skillhub.controllers;
 
 import com.example.skillhub.domain.Author;
 import com.example.skillhub.domain.CurrentUser;
+import com.example.skillhub.domain.CustomUserDetails;
 import com.example.skillhub.domain.dto.AuthResponse;
 import com.example.skillhub.domain.dto.AuthorProfileResponse;
 import com.example.skillhub.domain.dto.LoginRequest;
 import com.example.skillhub.domain.dto.RegisterRequest;
+import com.example.skillhub.domain.dto.TokenResponse;
+import com.example.skillhub.exceptions.ResourceNotFoundException;
+import com.example.skillhub.responses.ErrorResponse;
 import com.example.skillhub.services.AuthorService;
+import com.example.skillhub.services.TokenService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Date;
+
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.*;
@@ -31,15 +44,22 @@ import io.swagger.v3.oas.annotations.media.*;
 public class AuthController {
     private final AuthorService authorService;
     private final AuthenticationManager authenticationManager;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
+    private final SecurityContextRepository securityContextRepository;
+    // Only present when security.auth.mode=token
+    private final TokenService tokenService;
 
     @Autowired
     public AuthController(AuthorService authorService,
                           AuthenticationManager authenticationManager,
-                          BCryptPasswordEncoder passwordEncoder) {
+                          PasswordEncoder passwordEncoder,
+                          SecurityContextRepository securityContextRepository,
+                          ObjectProvider<TokenService> tokenService) {
         this.authorService = authorService;
         this.authenticationManager = authenticationManager;
         this.passwordEncoder = passwordEncoder;
+        this.securityContextRepository = securityContextRepository;
+        this.tokenService = tokenService.getIfAvailable();
     }
 
     @Operation(summary = "Register a new user", description = "Registers a new author with the provided details.")
@@ -78,14 +98,17 @@ public class AuthController {
                 .body(new AuthResponse("User registered successfully"));
     }
 
-    @Operation(summary = "Login user", description = "Authenticates a user with email and password.")
+    @Operation(summary = "Login user", description = "Authenticates a user with email and password. In token mode the response carries a bearer token.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Login successful",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = AuthResponse.class))),
+                            schema = @Schema(implementation = TokenResponse.class))),
             @ApiResponse(responseCode = "401", description = "Invalid email or password",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = AuthResponse.class)))
+                            schema = @Schema(implementation = AuthResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent logins, retry later",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> loginUser(
@@ -98,10 +121,14 @@ public class AuthController {
                     loginRequest.getPassword()
             );
             Authentication authentication = authenticationManager.authenticate(authToken);
+            if (tokenService != null) {
+                Jwt token = tokenService.issue(((CustomUserDetails) authentication.getPrincipal()).getAuthor());
+                return ResponseEntity.ok(new TokenResponse("Login successful", token.getTokenValue(), Date.from(token.getExpiresAt())));
+            }
             SecurityContextHolder.getContext().setAuthentication(authentication);
             // Session is automatically created
             return ResponseEntity.ok(new AuthResponse("Login successful"));
-        } catch (BadCredentialsException ex) {
+        } catch (BadCredentialsException | DisabledException ex) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new AuthResponse("Invalid email or password"));
         }
@@ -117,9 +144,16 @@ public class AuthController {
     public ResponseEntity<AuthResponse> logoutUser(
             @Parameter(hidden = true) HttpServletRequest request,
             @Parameter(hidden = true) HttpServletResponse response) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (tokenService != null && authentication != null && authentication.getCredentials() instanceof Jwt token) {
+            tokenService.revoke(token);
+        }
         SecurityContextHolder.clearContext();
         // Invalidate session if needed
-        request.getSession().invalidate();
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            session.invalidate();
+        }
         return ResponseEntity.ok(new AuthResponse("Logout successful"));
     }
 
@@ -137,6 +171,11 @@ public class AuthController {
         if (author == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
+        if (tokenService != null) {
+            // Token principals only carry the claims; the profile needs the full row
+            author = authorService.getAuthorById(author.getId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
+        }
         AuthorProfileResponse profile = new AuthorProfileResponse(
                 author.getId(),
                 author.getName(),
@@ -165,7 +204,9 @@ public class AuthController {
     @PutMapping("/me")
     public ResponseEntity<AuthorProfileResponse> updateCurrentAuthor(
             @Valid @RequestBody @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Update details for the author", required = true) Author updateDetails,
-            @Parameter(hidden = true) @CurrentUser Author author) {
+            @Parameter(hidden = true) @CurrentUser Author author,
+            @Parameter(hidden = true) HttpServletRequest request,
+            @Parameter(hidden = true) HttpServletResponse response) {
         if (author == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -176,6 +217,9 @@ public class AuthController {
         Author updatedAuthor = authorService.getAuthorById(author.getId())
                 .orElseThrow(() -> new com.example.skillhub.exceptions.ResourceNotFoundException("Author not found after update"));
 
+        // Replace the session's author snapshot so later requests see the new profile
+        refreshPrincipal(updatedAuthor, request, response);
+
         AuthorProfileResponse profile = new AuthorProfileResponse(
                 updatedAuthor.getId(),
                 updatedAuthor.getName(),
@@ -189,4 +233,13 @@ public class AuthController {
         return ResponseEntity.ok(profile);
     }
 
+    private void refreshPrincipal(Author author, HttpServletRequest request, HttpServletResponse response) {
+        CustomUserDetails userDetails = new CustomUserDetails(author);
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                userDetails, null, userDetails.getAuthorities()));
+        SecurityContextHolder.setContext(context);
+        securityContextRepository.saveContext(context, request, response);
+    }
+
 }
@@ -3,60 +3,90 @@ package com.example.skillhub.controllers;
 import com.example.skillhub.domain.Author;
 import com.example.skillhub.domain.Course;
 import com.example.skillhub.domain.CourseUser;
+import com.example.skillhub.domain.CurrentUser;
 import com.example.skillhub.domain.dto.CourseDTO;
+import com.example.skillhub.domain.dto.CourseDeletionStatus;
+import com.example.skillhub.domain.dto.CourseFacetResponse;
+import com.example.skillhub.domain.dto.CourseImportProgress;
+import com.example.skillhub.domain.dto.CourseImportRow;
+import com.example.skillhub.domain.dto.CourseResponse;
+import com.example.skillhub.domain.dto.CourseTreeResponse;
+import com.example.skillhub.domain.dto.CursorPage;
+import com.example.skillhub.domain.dto.PageCursor;
+import com.example.skillhub.enums.CourseFacet;
+import com.example.skillhub.enums.Rating;
 import com.example.skillhub.enums.Status;
 import com.example.skillhub.enums.UserRoleInCourse;
 import com.example.skillhub.exceptions.ResourceNotFoundException;
-import com.example.skillhub.services.AuthorService;
+import com.example.skillhub.responses.ConditionalJsonResponses;
+import com.example.skillhub.responses.EntityTags;
+import com.example.skillhub.services.ContentDeletionService;
+import com.example.skillhub.services.CourseImportService;
 import com.example.skillhub.services.CourseService;
 import com.example.skillhub.services.CourseUserService;
 import io.swagger.v3.oas.annotations.Parameter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
-import org.springframework.security.core.Authentication;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.*;
 import io.swagger.v3.oas.annotations.media.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
 
 @RestController
 @RequestMapping("/api/courses")
 public class CourseController {
+    private static final String COURSE_TAG = "course";
+
     private final CourseService courseService;
     private final CourseUserService courseUserService;
-    private final AuthorService authorService;
+    private final ConditionalJsonResponses conditionalResponses;
+    private final CourseImportService courseImportService;
+    private final ContentDeletionService contentDeletionService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
     public CourseController(CourseService courseService,
                             CourseUserService courseUserService,
-                            AuthorService authorService) {
+                            ConditionalJsonResponses conditionalResponses,
+                            CourseImportService courseImportService,
+                            ContentDeletionService contentDeletionService,
+                            ObjectMapper objectMapper) {
         this.courseService = courseService;
         this.courseUserService = courseUserService;
-        this.authorService = authorService;
+        this.conditionalResponses = conditionalResponses;
+        this.courseImportService = courseImportService;
+        this.contentDeletionService = contentDeletionService;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Create a new course", description = "Creates a new course and assigns the creator as the course owner.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Course created successfully",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = Course.class))),
+                            schema = @Schema(implementation = CourseResponse.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input data",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Author not found",
                     content = @Content)
     })
     @PostMapping
-    public ResponseEntity<Course> createCourse(
+    public ResponseEntity<CourseResponse> createCourse(
             @Valid @RequestBody @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Course details to create", required = true) CourseDTO courseDTO,
-            Authentication authentication) {
-        String email = authentication.getName();
-        Author author = authorService.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
-
+            @Parameter(hidden = true) @CurrentUser Author author) {
         Course course = Course.builder()
                 .title(courseDTO.getTitle())
                 .description(courseDTO.getDescription())
@@ -88,60 +118,144 @@ public class CourseController {
 
         courseUserService.createCourseUser(courseUser);
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdCourse);
+        return ResponseEntity.status(HttpStatus.CREATED).body(CourseResponse.from(createdCourse));
+    }
+
+    @Operation(summary = "Import courses in bulk",
+            description = "Creates courses, lessons and sections from NDJSON (one row per line) or CSV (with a header row). "
+                    + "Rows point at their parent row by ref and are imported in chunks as the body arrives; "
+                    + "the response streams one progress line per chunk, with the rows that were rejected. "
+                    + "The caller becomes the owner of every imported course.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Course, lesson and section rows", required = true,
+                    content = {
+                            @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = CourseImportRow.class)),
+                            @Content(mediaType = "text/csv", schema = @Schema(implementation = CourseImportRow.class))
+                    }))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import ran; per-row errors are in the progress lines",
+                    content = @Content(mediaType = "application/x-ndjson",
+                            schema = @Schema(implementation = CourseImportProgress.class)))
+    })
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"}, produces = "application/x-ndjson")
+    public void importCourses(
+            @Parameter(hidden = true) HttpServletRequest request,
+            @Parameter(hidden = true) HttpServletResponse response,
+            @Parameter(hidden = true) @CurrentUser Author author) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("application/x-ndjson");
+        OutputStream out = response.getOutputStream();
+        courseImportService.importCourses(request.getInputStream(), MediaType.parseMediaType(request.getContentType()), author,
+                progress -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(progress));
+                        out.write('\n');
+                        out.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
     }
 
     @Operation(summary = "Retrieve a course by ID", description = "Fetches a single course by its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Course retrieved successfully",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = Course.class))),
+                            schema = @Schema(implementation = CourseResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Course unchanged since the ETag or date sent in If-None-Match / If-Modified-Since",
+                    content = @Content),
             @ApiResponse(responseCode = "404", description = "Course not found",
                     content = @Content)
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Course> getCourseById(
-            @Parameter(description = "ID of the course to retrieve", required = true) @PathVariable Long id) {
+    public ResponseEntity<byte[]> getCourseById(
+            @Parameter(description = "ID of the course to retrieve", required = true) @PathVariable Long id,
+            @Parameter(hidden = true) NativeWebRequest request) {
         Course course = courseService.getCourseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id " + id));
-        return ResponseEntity.ok(course);
+        return conditionalResponses.respond(request, courseEtag(course.getId(), course.getVersion()),
+                course.getLastModifiedDate(), () -> CourseResponse.from(course));
+    }
+
+    @Operation(summary = "Retrieve a course with its lessons and sections", description = "Fetches a course and its full lesson and section hierarchy in one call.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Course tree retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CourseTreeResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Course not found",
+                    content = @Content)
+    })
+    @GetMapping("/{id}/tree")
+    public ResponseEntity<CourseTreeResponse> getCourseTree(
+            @Parameter(description = "ID of the course to retrieve", required = true) @PathVariable Long id) {
+        return ResponseEntity.ok(courseService.getCourseTree(id));
+    }
+
+    @Operation(summary = "Filter courses by facets", description = "Returns courses matching the selected category, level, rating and status values together with a count for every facet value. Repeat a parameter to select several values of one facet.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching courses and facet counts retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CourseFacetResponse.class)))
+    })
+    @GetMapping("/facets")
+    public ResponseEntity<CourseFacetResponse> getCourseFacets(
+            @Parameter(description = "Categories to include") @RequestParam(required = false) List<String> category,
+            @Parameter(description = "Levels to include") @RequestParam(required = false) List<String> level,
+            @Parameter(description = "Ratings to include") @RequestParam(required = false) List<Rating> rating,
+            @Parameter(description = "Statuses to include") @RequestParam(required = false) List<String> status,
+            @Parameter(description = "Value of 'next' from the previous page") @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of courses to return (1-500)") @RequestParam(defaultValue = "50") int limit) {
+        Map<CourseFacet, Set<String>> selection = new EnumMap<>(CourseFacet.class);
+        select(selection, CourseFacet.CATEGORY, category);
+        select(selection, CourseFacet.LEVEL, level);
+        select(selection, CourseFacet.RATING, rating == null ? null : rating.stream().map(Rating::name).toList());
+        select(selection, CourseFacet.STATUS, status);
+        return ResponseEntity.ok(courseService.getCourseFacets(selection, after, CursorPage.clampLimit(limit)));
     }
 
-    @Operation(summary = "Retrieve all courses", description = "Fetches a list of all available courses.")
+    @Operation(summary = "Retrieve all courses", description = "Fetches all available courses one keyset page at a time.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Courses retrieved successfully",
                     content = @Content(mediaType = "application/json",
-                            array = @ArraySchema(schema = @Schema(implementation = Course.class)))),
+                            schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag sent in If-None-Match",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                    content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content)
     })
     @GetMapping
-    public ResponseEntity<List<Course>> getAllCourses() {
-        List<Course> courses = courseService.getAllCourses();
-        return ResponseEntity.ok(courses);
+    public ResponseEntity<byte[]> getAllCourses(
+            @Parameter(description = "Opaque cursor returned as 'next' by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of courses to return (1-500)") @RequestParam(defaultValue = "50") int limit,
+            @Parameter(hidden = true) NativeWebRequest request) {
+        CursorPage<CourseResponse> page = courseService.getCoursePage(PageCursor.decode(cursor), CursorPage.clampLimit(limit));
+        return conditionalResponses.respond(request, pageEtag(page), null, () -> page);
     }
 
-    @Operation(summary = "Update a course partially", description = "Updates specific fields of an existing course.")
+    @Operation(summary = "Update a course partially", description = "Updates specific fields of an existing course. "
+            + "Send the ETag from a previous read in If-Match to make sure no one else changed the course in between.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Course updated successfully",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = Course.class))),
+                            schema = @Schema(implementation = CourseResponse.class))),
             @ApiResponse(responseCode = "403", description = "Forbidden - User not authorized to update this course",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Course not found",
                     content = @Content),
+            @ApiResponse(responseCode = "409", description = "Another update to the course committed first; reload it and retry",
+                    content = @Content),
+            @ApiResponse(responseCode = "412", description = "If-Match names a version the course has moved past",
+                    content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid input data",
                     content = @Content)
     })
     @PutMapping("/{id}")
-    public ResponseEntity<Course> updateCourse(
+    public ResponseEntity<CourseResponse> updateCourse(
             @Parameter(description = "ID of the course to update", required = true) @PathVariable Long id,
             @Valid @RequestBody @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Course details to update", required = true) CourseDTO courseDTO,
-            Authentication authentication) {
-        String email = authentication.getName();
-        Author author = authorService.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
-
+            @Parameter(description = "ETag of the course version this update is based on") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Parameter(hidden = true) @CurrentUser Author author) {
         // Check if the user is the owner or a collaborator
         boolean isAuthorized = courseService.isUserAuthorized(id, author);
         if (!isAuthorized) {
@@ -161,39 +275,84 @@ public class CourseController {
                 .rating(courseDTO.getRating())
                 .lastModifiedDate(new java.util.Date())
                 .lastModifiedBy(author.getEmail())
-                .user(author) // Update the user if needed
                 .createdBy(courseDTO.getCreatedBy()) // Typically, createdBy shouldn't change
                 .build();
 
-        Course updatedCourse = courseService.partialUpdate(id, courseDetails);
-        return ResponseEntity.ok(updatedCourse);
+        Course updatedCourse = courseService.partialUpdate(id, courseDetails, EntityTags.expectedVersion(ifMatch, COURSE_TAG, id));
+        return ResponseEntity.ok()
+                .eTag(courseEtag(updatedCourse.getId(), updatedCourse.getVersion()))
+                .body(CourseResponse.from(updatedCourse));
     }
 
-    @Operation(summary = "Delete a course", description = "Deletes an existing course by its ID.")
+    @Operation(summary = "Delete a course", description = "Deletes an existing course by its ID, together with its lessons, sections, members and progress records. "
+            + "With background=true the deletion runs as a job in small transactions and its progress can be followed at the returned Location.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Course deleted successfully",
                     content = @Content),
+            @ApiResponse(responseCode = "202", description = "Background deletion started",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CourseDeletionStatus.class))),
             @ApiResponse(responseCode = "403", description = "Forbidden - User not authorized to delete this course",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Course not found",
                     content = @Content)
     })
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteCourse(
+    public ResponseEntity<CourseDeletionStatus> deleteCourse(
             @Parameter(description = "ID of the course to delete", required = true) @PathVariable Long id,
-            Authentication authentication) {
-        String email = authentication.getName();
-        Author author = authorService.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
-
+            @Parameter(description = "Delete in the background, for courses with very many sections or progress records")
+            @RequestParam(defaultValue = "false") boolean background,
+            @Parameter(hidden = true) @CurrentUser Author author) {
         // Check if the user is the owner or a collaborator
         boolean isAuthorized = courseService.isUserAuthorized(id, author);
         if (!isAuthorized) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
+        if (background) {
+            CourseDeletionStatus status = contentDeletionService.startCourseDeletion(id, author.getId());
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/courses/deletions/" + status.getJobId()))
+                    .body(status);
+        }
         courseService.deleteCourse(id);
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(summary = "Get a background course deletion", description = "Reports how far a background course deletion started by the current user has got.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Deletion status",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CourseDeletionStatus.class))),
+            @ApiResponse(responseCode = "404", description = "No such job for the current user, or it finished too long ago",
+                    content = @Content)
+    })
+    @GetMapping("/deletions/{jobId}")
+    public ResponseEntity<CourseDeletionStatus> getCourseDeletion(
+            @Parameter(description = "ID of the deletion job", required = true) @PathVariable String jobId,
+            @Parameter(hidden = true) @CurrentUser Author author) {
+        return contentDeletionService.getCourseDeletion(jobId, author.getId())
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResourceNotFoundException("Course deletion not found with id " + jobId));
+    }
+
+    private static String courseEtag(Long id, Long version) {
+        return EntityTags.of(COURSE_TAG, id, version);
+    }
+
+    // A page changes when any of its courses does, or when courses are added or removed around it
+    private static String pageEtag(CursorPage<CourseResponse> page) {
+        StringBuilder state = new StringBuilder();
+        for (CourseResponse course : page.getItems()) {
+            state.append(courseEtag(course.getId(), course.getVersion())).append(',');
+        }
+        state.append(page.getNext());
+        return "courses-" + DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void select(Map<CourseFacet, Set<String>> selection, CourseFacet facet, List<String> values) {
+        if (values != null && !values.isEmpty()) {
+            selection.put(facet, new HashSet<>(values));
+        }
+    }
 }
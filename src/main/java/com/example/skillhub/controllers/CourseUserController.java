@@ -3,7 +3,13 @@ package com.example.skillhub.controllers;
 import com.example.skillhub.domain.Author;
 import com.example.skillhub.domain.Course;
 import com.example.skillhub.domain.CourseUser;
+import com.example.skillhub.domain.CurrentUser;
+import com.example.skillhub.domain.dto.BulkEnrollmentRequest;
+import com.example.skillhub.domain.dto.BulkEnrollmentResponse;
 import com.example.skillhub.domain.dto.CourseUserDTO;
+import com.example.skillhub.domain.dto.CourseUserResponse;
+import com.example.skillhub.domain.dto.CursorPage;
+import com.example.skillhub.domain.dto.PageCursor;
 import com.example.skillhub.enums.Status;
 import com.example.skillhub.exceptions.ResourceNotFoundException;
 import com.example.skillhub.services.AuthorService;
@@ -13,15 +19,12 @@ import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.*;
 import io.swagger.v3.oas.annotations.media.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/course-users")
 public class CourseUserController {
@@ -42,7 +45,7 @@ public class CourseUserController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Collaborator added successfully",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = CourseUser.class))),
+                            schema = @Schema(implementation = CourseUserResponse.class))),
             @ApiResponse(responseCode = "403", description = "Forbidden - User not authorized to add collaborators",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Course or collaborator not found",
@@ -51,13 +54,9 @@ public class CourseUserController {
                     content = @Content)
     })
     @PostMapping
-    public ResponseEntity<CourseUser> addCollaborator(
+    public ResponseEntity<CourseUserResponse> addCollaborator(
             @Valid @RequestBody @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "CourseUser details to add a collaborator", required = true) CourseUserDTO courseUserDTO,
-            Authentication authentication) {
-        String email = authentication.getName();
-        Author author = authorService.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
-
+            @Parameter(hidden = true) @CurrentUser Author author) {
         // Check if the user is the owner of the course
         Course course = courseService.getCourseById(courseUserDTO.getCourseId())
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id " + courseUserDTO.getCourseId()));
@@ -78,7 +77,34 @@ public class CourseUserController {
                 .build();
 
         CourseUser createdCourseUser = courseUserService.createCourseUser(courseUser);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdCourseUser);
+        return ResponseEntity.status(HttpStatus.CREATED).body(CourseUserResponse.from(createdCourseUser));
+    }
+
+    @Operation(summary = "Enroll many users into a course", description = "Adds every registered user among the given emails to the course with one role. Users who are already members are skipped; the response reports the outcome for each email.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Enrollment processed",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BulkEnrollmentResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User not authorized to add members",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Course not found",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid input data",
+                    content = @Content)
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkEnrollmentResponse> enrollAll(
+            @Valid @RequestBody @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Course, emails and role to enroll", required = true) BulkEnrollmentRequest request,
+            @Parameter(hidden = true) @CurrentUser Author author) {
+        Course course = courseService.getCourseById(request.getCourseId())
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id " + request.getCourseId()));
+
+        // Same rule as adding a single collaborator: only the owner may add members
+        if (!course.getUser().getId().equals(author.getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(courseUserService.enrollAll(course, request.getEmails(), request.getRole()));
     }
 
     @Operation(summary = "Remove a collaborator from a course", description = "Removes a collaborator from the specified course by their CourseUser ID.")
@@ -93,12 +119,8 @@ public class CourseUserController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> removeCollaborator(
             @Parameter(description = "ID of the CourseUser to remove", required = true) @PathVariable Long id,
-            Authentication authentication) {
-        String email = authentication.getName();
-        Author author = authorService.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
-
-        CourseUser courseUser = courseUserService.getCourseUserById(id)
+            @Parameter(hidden = true) @CurrentUser Author author) {
+        CourseUser courseUser = courseUserService.getCourseUserWithCourse(id)
                 .orElseThrow(() -> new ResourceNotFoundException("CourseUser not found with id " + id));
 
         // Only the course owner can remove collaborators
@@ -110,31 +132,31 @@ public class CourseUserController {
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Get all collaborators for a course", description = "Retrieves a list of all collaborators associated with the specified course.")
+    @Operation(summary = "Get all collaborators for a course", description = "Retrieves the collaborators associated with the specified course, one keyset page at a time.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Collaborators retrieved successfully",
                     content = @Content(mediaType = "application/json",
-                            array = @ArraySchema(schema = @Schema(implementation = CourseUser.class)))),
+                            schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                    content = @Content),
             @ApiResponse(responseCode = "403", description = "Forbidden - User not authorized to view collaborators",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Course not found",
                     content = @Content)
     })
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<List<CourseUser>> getCollaborators(
+    public ResponseEntity<CursorPage<CourseUserResponse>> getCollaborators(
             @Parameter(description = "ID of the course to retrieve collaborators for", required = true) @PathVariable Long courseId,
-            Authentication authentication) {
-        String email = authentication.getName();
-        Author author = authorService.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
-
+            @Parameter(description = "Opaque cursor returned as 'next' by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of collaborators to return (1-500)") @RequestParam(defaultValue = "50") int limit,
+            @Parameter(hidden = true) @CurrentUser Author author) {
         // Check if the user is authorized to view collaborators
         boolean isAuthorized = courseService.isUserAuthorized(courseId, author);
         if (!isAuthorized) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        List<CourseUser> collaborators = courseUserService.findByCourseId(courseId);
+        CursorPage<CourseUserResponse> collaborators = courseUserService.findPageByCourseId(courseId, PageCursor.decode(cursor), CursorPage.clampLimit(limit));
         return ResponseEntity.ok(collaborators);
     }
 
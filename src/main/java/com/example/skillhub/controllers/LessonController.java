@@ -2,10 +2,14 @@ package com.example.skillhub.controllers;
 
 import com.example.skillhub.domain.Author;
 import com.example.skillhub.domain.Course;
+import com.example.skillhub.domain.CurrentUser;
 import com.example.skillhub.domain.Lesson;
+import com.example.skillhub.domain.dto.CursorPage;
 import com.example.skillhub.domain.dto.LessonDTO;
+import com.example.skillhub.domain.dto.LessonResponse;
+import com.example.skillhub.domain.dto.PageCursor;
 import com.example.skillhub.exceptions.ResourceNotFoundException;
-import com.example.skillhub.services.AuthorService;
+import com.example.skillhub.responses.EntityTags;
 import com.example.skillhub.services.CourseService;
 import com.example.skillhub.services.LessonService;
 import com.example.skillhub.services.SectionService;
@@ -13,7 +17,6 @@ import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -22,30 +25,28 @@ import io.swagger.v3.oas.annotations.media.*;
 import io.swagger.v3.oas.annotations.parameters.*;
 import org.springframework.web.bind.annotation.RequestBody;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/lessons")
 public class LessonController {
+    private static final String LESSON_TAG = "lesson";
+
 
     private final LessonService lessonService;
     private final CourseService courseService;
-    private final AuthorService authorService;
 
     @Autowired
     public LessonController(LessonService lessonService,
-                            CourseService courseService,
-                            AuthorService authorService) {
+                            CourseService courseService) {
         this.lessonService = lessonService;
         this.courseService = courseService;
-        this.authorService = authorService;
     }
 
     @Operation(summary = "Create a new lesson", description = "Creates a new lesson associated with a specific course.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Lesson created successfully",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = Lesson.class))),
+                            schema = @Schema(implementation = LessonResponse.class))),
             @ApiResponse(responseCode = "403", description = "Forbidden - User not authorized to add lessons to this course",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Course not found",
@@ -54,13 +55,9 @@ public class LessonController {
                     content = @Content)
     })
     @PostMapping
-    public ResponseEntity<Lesson> createLesson(
+    public ResponseEntity<LessonResponse> createLesson(
             @Valid @RequestBody @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Lesson details to create", required = true) LessonDTO lessonDTO,
-            Authentication authentication) {
-        String email = authentication.getName();
-        Author author = authorService.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
-
+            @Parameter(hidden = true) @CurrentUser Author author) {
         // Check if the user is authorized to add lessons to the course
         boolean isAuthorized = courseService.isUserAuthorized(lessonDTO.getCourseId(), author);
         if (!isAuthorized) {
@@ -79,60 +76,68 @@ public class LessonController {
                 .build();
 
         Lesson createdLesson = lessonService.createLesson(lesson);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdLesson);
+        return ResponseEntity.status(HttpStatus.CREATED).body(LessonResponse.from(createdLesson));
     }
 
     @Operation(summary = "Retrieve a lesson by ID", description = "Fetches a single lesson by its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lesson retrieved successfully",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = Lesson.class))),
+                            schema = @Schema(implementation = LessonResponse.class))),
             @ApiResponse(responseCode = "404", description = "Lesson not found",
                     content = @Content)
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Lesson> getLessonById(
+    public ResponseEntity<LessonResponse> getLessonById(
             @Parameter(description = "ID of the lesson to retrieve", required = true) @PathVariable Long id) {
         Lesson lesson = lessonService.getLessonById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Lesson not found with id " + id));
-        return ResponseEntity.ok(lesson);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(LESSON_TAG, id, lesson.getVersion()))
+                .body(LessonResponse.from(lesson));
     }
 
-    @Operation(summary = "Retrieve all lessons", description = "Fetches a list of all available lessons.")
+    @Operation(summary = "Retrieve all lessons", description = "Fetches all available lessons one keyset page at a time.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lessons retrieved successfully",
                     content = @Content(mediaType = "application/json",
-                            array = @ArraySchema(schema = @Schema(implementation = Lesson.class)))),
+                            schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                    content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content)
     })
     @GetMapping
-    public ResponseEntity<List<Lesson>> getAllLessons() {
-        List<Lesson> lessons = lessonService.getAllLessons();
-        return ResponseEntity.ok(lessons);
+    public ResponseEntity<CursorPage<LessonResponse>> getAllLessons(
+            @Parameter(description = "Opaque cursor returned as 'next' by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of lessons to return (1-500)") @RequestParam(defaultValue = "50") int limit) {
+        CursorPage<LessonResponse> page = lessonService.getLessonPage(PageCursor.decode(cursor), CursorPage.clampLimit(limit));
+        return ResponseEntity.ok(page);
     }
 
-    @Operation(summary = "Update a lesson partially", description = "Updates specific fields of an existing lesson.")
+    @Operation(summary = "Update a lesson partially", description = "Updates specific fields of an existing lesson. "
+            + "Send the ETag from a previous read in If-Match to make sure no one else changed the lesson in between.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lesson updated successfully",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = Lesson.class))),
+                            schema = @Schema(implementation = LessonResponse.class))),
             @ApiResponse(responseCode = "403", description = "Forbidden - User not authorized to update this lesson",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Lesson or Course not found",
                     content = @Content),
+            @ApiResponse(responseCode = "409", description = "Another update to the lesson committed first; reload it and retry",
+                    content = @Content),
+            @ApiResponse(responseCode = "412", description = "If-Match names a version the lesson has moved past",
+                    content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid input data",
                     content = @Content)
     })
     @PutMapping("/{id}")
-    public ResponseEntity<Lesson> updateLesson(
+    public ResponseEntity<LessonResponse> updateLesson(
             @Parameter(description = "ID of the lesson to update", required = true) @PathVariable Long id,
             @Valid @RequestBody @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Lesson details to update", required = true) LessonDTO lessonDTO,
-            Authentication authentication) {
-        String email = authentication.getName();
-        Author author = authorService.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
-
+            @Parameter(description = "ETag of the lesson version this update is based on") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Parameter(hidden = true) @CurrentUser Author author) {
         Lesson existingLesson = lessonService.getLessonById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Lesson not found with id " + id));
 
@@ -153,11 +158,13 @@ public class LessonController {
                 .course(existingLesson.getCourse()) // Preserve associated course
                 .build();
 
-        Lesson updatedLesson = lessonService.partialUpdate(id, lessonDetails);
-        return ResponseEntity.ok(updatedLesson);
+        Lesson updatedLesson = lessonService.partialUpdate(id, lessonDetails, EntityTags.expectedVersion(ifMatch, LESSON_TAG, id));
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(LESSON_TAG, id, updatedLesson.getVersion()))
+                .body(LessonResponse.from(updatedLesson));
     }
 
-    @Operation(summary = "Delete a lesson", description = "Deletes an existing lesson by its ID.")
+    @Operation(summary = "Delete a lesson", description = "Deletes an existing lesson by its ID, together with its sections and their progress records.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Lesson deleted successfully",
                     content = @Content),
@@ -169,11 +176,7 @@ public class LessonController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteLesson(
             @Parameter(description = "ID of the lesson to delete", required = true) @PathVariable Long id,
-            Authentication authentication) {
-        String email = authentication.getName();
-        Author author = authorService.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
-
+            @Parameter(hidden = true) @CurrentUser Author author) {
         Lesson lesson = lessonService.getLessonById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Lesson not found with id " + id));
 
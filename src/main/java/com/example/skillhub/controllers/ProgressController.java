@@ -1,14 +1,19 @@
 package com.example.skillhub.controllers;
 
 import com.example.skillhub.domain.*;
+import com.example.skillhub.domain.dto.CompletionSummaryResponse;
+import com.example.skillhub.domain.dto.CursorPage;
+import com.example.skillhub.domain.dto.PageCursor;
+import com.example.skillhub.domain.dto.ProgressEvent;
 import com.example.skillhub.domain.dto.ProgressDTO;
+import com.example.skillhub.domain.dto.ProgressResponse;
+import com.example.skillhub.domain.dto.ProgressUpsert;
 import com.example.skillhub.exceptions.ResourceNotFoundException;
 import com.example.skillhub.services.*;
 import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -18,7 +23,6 @@ import io.swagger.v3.oas.annotations.parameters.*;
 import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.Date;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/progresses")
@@ -28,26 +32,30 @@ public class ProgressController {
     private final CourseService courseService;
     private final LessonService lessonService;
     private final SectionService sectionService;
-    private final AuthorService authorService;
+    private final ProgressIngestionService progressIngestionService;
 
     @Autowired
     public ProgressController(ProgressService progressService,
                               CourseService courseService,
                               LessonService lessonService,
                               SectionService sectionService,
-                              AuthorService authorService) {
+                              ProgressIngestionService progressIngestionService) {
         this.progressService = progressService;
         this.courseService = courseService;
         this.lessonService = lessonService;
         this.sectionService = sectionService;
-        this.authorService = authorService;
+        this.progressIngestionService = progressIngestionService;
     }
 
-    @Operation(summary = "Create a new progress record", description = "Creates a new progress record for a user on a specific course, lesson, and section.")
+    @Operation(summary = "Create a new progress record", description = "Records the current user's status for a section of a course. "
+            + "There is one record per user and section: posting again for the same section updates that record's status instead of adding another.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Progress created successfully",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = Progress.class))),
+                            schema = @Schema(implementation = ProgressResponse.class))),
+            @ApiResponse(responseCode = "200", description = "The section already had a progress record; its status was updated",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProgressResponse.class))),
             @ApiResponse(responseCode = "403", description = "Forbidden - User not authorized to track progress on this course",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Course, Lesson, Section, or Author not found",
@@ -56,13 +64,9 @@ public class ProgressController {
                     content = @Content)
     })
     @PostMapping
-    public ResponseEntity<Progress> createProgress(
+    public ResponseEntity<ProgressResponse> createProgress(
             @Valid @RequestBody @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Progress details to create", required = true) ProgressDTO progressDTO,
-            Authentication authentication) {
-        String email = authentication.getName();
-        Author author = authorService.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
-
+            @Parameter(hidden = true) @CurrentUser Author author) {
         // Validate and fetch related entities
         Course course = courseService.getCourseById(progressDTO.getCourseId())
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id " + progressDTO.getCourseId()));
@@ -79,54 +83,128 @@ public class ProgressController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        Progress progress = Progress.builder()
-                .user(author)
-                .course(course)
-                .lesson(lesson)
-                .section(section)
-                .status(progressDTO.getStatus())
-                .createdAt(new Date())
-                .build();
+        ProgressUpsert upsert = progressService.upsertProgress(author.getId(), course.getId(), lesson.getId(), section.getId(), progressDTO.getStatus());
+        return ResponseEntity.status(upsert.created() ? HttpStatus.CREATED : HttpStatus.OK).body(upsert.progress());
+    }
+
+    @Operation(summary = "Set progress for a section", description = "Sets the current user's status for a section, creating the progress record if there is none. "
+            + "Safe to retry: the same request always leaves the same single record.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Progress record after the update",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProgressResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User not authorized to track progress on this course",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Section not found",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid input data, or the section is not part of the lesson and course given",
+                    content = @Content)
+    })
+    @PutMapping
+    public ResponseEntity<ProgressResponse> upsertProgress(
+            @Valid @RequestBody @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Course, lesson, section and status", required = true) ProgressDTO progressDTO,
+            @Parameter(hidden = true) @CurrentUser Author author) {
+        if (!courseService.isUserAuthorized(progressDTO.getCourseId(), author)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        ProgressUpsert upsert = progressService.upsertProgress(author.getId(), progressDTO.getCourseId(), progressDTO.getLessonId(),
+                progressDTO.getSectionId(), progressDTO.getStatus());
+        return ResponseEntity.ok(upsert.progress());
+    }
+
+    @Operation(summary = "Report progress asynchronously", description = "Queues the current user's status for a section and returns at once. "
+            + "Reports for the same section are merged until the next batch write, so the latest one wins; "
+            + "reports for a section that does not belong to the given lesson and course are dropped when written.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Progress queued",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User not authorized to track progress on this course",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid input data",
+                    content = @Content),
+            @ApiResponse(responseCode = "503", description = "Too many reports waiting to be written; retry after the Retry-After delay",
+                    content = @Content)
+    })
+    @PostMapping("/events")
+    public ResponseEntity<Void> reportProgress(
+            @Valid @RequestBody @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Progress to report", required = true) ProgressDTO progressDTO,
+            @Parameter(hidden = true) @CurrentUser Author author) {
+        // Cached per (course, user), so the hot path needs no entity loads
+        if (!courseService.isUserAuthorized(progressDTO.getCourseId(), author)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
 
-        Progress createdProgress = progressService.createProgress(progress);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdProgress);
+        progressIngestionService.submit(new ProgressEvent(author.getId(), progressDTO.getCourseId(), progressDTO.getLessonId(),
+                progressDTO.getSectionId(), progressDTO.getStatus(), new Date()));
+        return ResponseEntity.accepted().build();
     }
 
     @Operation(summary = "Retrieve a progress record by ID", description = "Fetches a single progress record by its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Progress retrieved successfully",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = Progress.class))),
+                            schema = @Schema(implementation = ProgressResponse.class))),
             @ApiResponse(responseCode = "404", description = "Progress not found",
                     content = @Content)
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Progress> getProgressById(
+    public ResponseEntity<ProgressResponse> getProgressById(
             @Parameter(description = "ID of the progress to retrieve", required = true) @PathVariable Long id) {
         Progress progress = progressService.getProgressById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Progress not found with id " + id));
-        return ResponseEntity.ok(progress);
+        return ResponseEntity.ok(ProgressResponse.from(progress));
     }
 
-    @Operation(summary = "Retrieve all progress records", description = "Fetches a list of all progress records.")
+    @Operation(summary = "Retrieve all progress records", description = "Fetches all progress records one keyset page at a time.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Progress records retrieved successfully",
                     content = @Content(mediaType = "application/json",
-                            array = @ArraySchema(schema = @Schema(implementation = Progress.class)))),
+                            schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                    content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content)
     })
     @GetMapping
-    public ResponseEntity<List<Progress>> getAllProgresses() {
-        List<Progress> progresses = progressService.getAllProgresses();
-        return ResponseEntity.ok(progresses);
+    public ResponseEntity<CursorPage<ProgressResponse>> getAllProgresses(
+            @Parameter(description = "Opaque cursor returned as 'next' by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of progress records to return (1-500)") @RequestParam(defaultValue = "50") int limit) {
+        CursorPage<ProgressResponse> page = progressService.getProgressPage(PageCursor.decode(cursor), CursorPage.clampLimit(limit));
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "Retrieve a course completion summary", description = "Returns how much of a course a user has completed. Defaults to the current user; other users' summaries require access to the course.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Summary retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CompletionSummaryResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User not authorized to view this learner's progress",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Course not found",
+                    content = @Content)
+    })
+    @GetMapping("/summary")
+    public ResponseEntity<CompletionSummaryResponse> getCompletionSummary(
+            @Parameter(description = "ID of the course", required = true) @RequestParam Long courseId,
+            @Parameter(description = "ID of the learner; defaults to the current user") @RequestParam(required = false) Long userId,
+            @Parameter(hidden = true) @CurrentUser Author author) {
+        Course course = courseService.getCourseById(courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id " + courseId));
+
+        Long learnerId = userId != null ? userId : author.getId();
+        if (!learnerId.equals(author.getId()) && !courseService.isUserAuthorized(course.getId(), author)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(progressService.getCompletionSummary(course.getId(), learnerId));
     }
 
     @Operation(summary = "Update a progress record partially", description = "Updates specific fields of an existing progress record.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Progress updated successfully",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = Progress.class))),
+                            schema = @Schema(implementation = ProgressResponse.class))),
             @ApiResponse(responseCode = "403", description = "Forbidden - User not authorized to update this progress",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Progress not found",
@@ -135,14 +213,10 @@ public class ProgressController {
                     content = @Content)
     })
     @PutMapping("/{id}")
-    public ResponseEntity<Progress> updateProgress(
+    public ResponseEntity<ProgressResponse> updateProgress(
             @Parameter(description = "ID of the progress to update", required = true) @PathVariable Long id,
             @Valid @RequestBody @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Progress details to update", required = true) ProgressDTO progressDTO,
-            Authentication authentication) {
-        String email = authentication.getName();
-        Author author = authorService.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
-
+            @Parameter(hidden = true) @CurrentUser Author author) {
         Progress existingProgress = progressService.getProgressById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Progress not found with id " + id));
 
@@ -162,7 +236,7 @@ public class ProgressController {
                 .build();
 
         Progress updatedProgress = progressService.partialUpdate(id, progressDetails);
-        return ResponseEntity.ok(updatedProgress);
+        return ResponseEntity.ok(ProgressResponse.from(updatedProgress));
     }
 
     @Operation(summary = "Delete a progress record", description = "Deletes an existing progress record by its ID.")
@@ -177,11 +251,7 @@ public class ProgressController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProgress(
             @Parameter(description = "ID of the progress to delete", required = true) @PathVariable Long id,
-            Authentication authentication) {
-        String email = authentication.getName();
-        Author author = authorService.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
-
+            @Parameter(hidden = true) @CurrentUser Author author) {
         Progress progress = progressService.getProgressById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Progress not found with id " + id));
 
@@ -0,0 +1,42 @@
+package com.example.skillhub.controllers;
+
+import com.example.skillhub.domain.dto.CursorPage;
+import com.example.skillhub.domain.dto.SearchHitResponse;
+import com.example.skillhub.enums.SearchDocumentType;
+import com.example.skillhub.services.SearchService;
+import io.swagger.v3.oas.annotations.Parameter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.*;
+import io.swagger.v3.oas.annotations.media.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @Autowired
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @Operation(summary = "Search the catalog", description = "Full-text search over course and lesson titles and descriptions and section content, ranked by BM25. End a word with '*' to match it as a prefix.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matches retrieved successfully, best first",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = SearchHitResponse.class))))
+    })
+    @GetMapping
+    public ResponseEntity<List<SearchHitResponse>> search(
+            @Parameter(description = "Search terms, e.g. 'java variab*'", required = true) @RequestParam String q,
+            @Parameter(description = "Only return entries of this kind") @RequestParam(required = false) SearchDocumentType type,
+            @Parameter(description = "Maximum number of matches to return (1-500)") @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchService.search(q, type, CursorPage.clampLimit(limit)));
+    }
+}
@@ -1,11 +1,15 @@
 package com.example.skillhub.controllers;
 
 import com.example.skillhub.domain.Author;
+import com.example.skillhub.domain.CurrentUser;
 import com.example.skillhub.domain.Lesson;
 import com.example.skillhub.domain.Section;
+import com.example.skillhub.domain.dto.CursorPage;
+import com.example.skillhub.domain.dto.PageCursor;
 import com.example.skillhub.domain.dto.SectionDTO;
+import com.example.skillhub.domain.dto.SectionResponse;
 import com.example.skillhub.exceptions.ResourceNotFoundException;
-import com.example.skillhub.services.AuthorService;
+import com.example.skillhub.responses.EntityTags;
 import com.example.skillhub.services.CourseService;
 import com.example.skillhub.services.LessonService;
 import com.example.skillhub.services.SectionService;
@@ -13,7 +17,6 @@ import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -22,33 +25,31 @@ import io.swagger.v3.oas.annotations.media.*;
 import io.swagger.v3.oas.annotations.parameters.*;
 import org.springframework.web.bind.annotation.RequestBody;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/sections")
 public class SectionController {
+    private static final String SECTION_TAG = "section";
+
     private final SectionService sectionService;
     private final LessonService lessonService;
     private final CourseService courseService;
-    private final AuthorService authorService;
 
 
     @Autowired
     public SectionController(SectionService sectionService,
                              LessonService lessonService,
-                             CourseService courseService,
-                             AuthorService authorService) {
+                             CourseService courseService) {
         this.sectionService = sectionService;
         this.lessonService = lessonService;
         this.courseService = courseService;
-        this.authorService = authorService;
     }
 
     @Operation(summary = "Create a new section", description = "Creates a new section associated with a specific lesson.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Section created successfully",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = Section.class))),
+                            schema = @Schema(implementation = SectionResponse.class))),
             @ApiResponse(responseCode = "403", description = "Forbidden - User not authorized to add sections to this lesson",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Lesson not found",
@@ -57,13 +58,9 @@ public class SectionController {
                     content = @Content)
     })
     @PostMapping
-    public ResponseEntity<Section> createSection(
+    public ResponseEntity<SectionResponse> createSection(
             @Valid @RequestBody @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Section details to create", required = true) SectionDTO sectionDTO,
-            Authentication authentication) {
-        String email = authentication.getName();
-        Author author = authorService.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
-
+            @Parameter(hidden = true) @CurrentUser Author author) {
         // Check if the user is authorized to add sections to the lesson's course
         Lesson lesson = lessonService.getLessonById(sectionDTO.getLessonId())
                 .orElseThrow(() -> new ResourceNotFoundException("Lesson not found with id " + sectionDTO.getLessonId()));
@@ -83,60 +80,68 @@ public class SectionController {
                 .build();
 
         Section createdSection = sectionService.createSection(section);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdSection);
+        return ResponseEntity.status(HttpStatus.CREATED).body(SectionResponse.from(createdSection));
     }
 
     @Operation(summary = "Retrieve a section by ID", description = "Fetches a single section by its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Section retrieved successfully",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = Section.class))),
+                            schema = @Schema(implementation = SectionResponse.class))),
             @ApiResponse(responseCode = "404", description = "Section not found",
                     content = @Content)
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Section> getSectionById(
+    public ResponseEntity<SectionResponse> getSectionById(
             @Parameter(description = "ID of the section to retrieve", required = true) @PathVariable Long id) {
         Section section = sectionService.getSectionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Section not found with id " + id));
-        return ResponseEntity.ok(section);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(SECTION_TAG, id, section.getVersion()))
+                .body(SectionResponse.from(section));
     }
 
-    @Operation(summary = "Retrieve all sections", description = "Fetches a list of all available sections.")
+    @Operation(summary = "Retrieve all sections", description = "Fetches all available sections one keyset page at a time.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Sections retrieved successfully",
                     content = @Content(mediaType = "application/json",
-                            array = @ArraySchema(schema = @Schema(implementation = Section.class)))),
+                            schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                    content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content)
     })
     @GetMapping
-    public ResponseEntity<List<Section>> getAllSections() {
-        List<Section> sections = sectionService.getAllSections();
-        return ResponseEntity.ok(sections);
+    public ResponseEntity<CursorPage<SectionResponse>> getAllSections(
+            @Parameter(description = "Opaque cursor returned as 'next' by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of sections to return (1-500)") @RequestParam(defaultValue = "50") int limit) {
+        CursorPage<SectionResponse> page = sectionService.getSectionPage(PageCursor.decode(cursor), CursorPage.clampLimit(limit));
+        return ResponseEntity.ok(page);
     }
 
-    @Operation(summary = "Update a section partially", description = "Updates specific fields of an existing section.")
+    @Operation(summary = "Update a section partially", description = "Updates specific fields of an existing section. "
+            + "Send the ETag from a previous read in If-Match to make sure no one else changed the section in between.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Section updated successfully",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = Section.class))),
+                            schema = @Schema(implementation = SectionResponse.class))),
             @ApiResponse(responseCode = "403", description = "Forbidden - User not authorized to update this section",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Section or Course not found",
                     content = @Content),
+            @ApiResponse(responseCode = "409", description = "Another update to the section committed first; reload it and retry",
+                    content = @Content),
+            @ApiResponse(responseCode = "412", description = "If-Match names a version the section has moved past",
+                    content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid input data",
                     content = @Content)
     })
     @PutMapping("/{id}")
-    public ResponseEntity<Section> updateSection(
+    public ResponseEntity<SectionResponse> updateSection(
             @Parameter(description = "ID of the section to update", required = true) @PathVariable Long id,
             @Valid @RequestBody @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Section details to update", required = true) SectionDTO sectionDTO,
-            Authentication authentication) {
-        String email = authentication.getName();
-        Author author = authorService.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
-
+            @Parameter(description = "ETag of the section version this update is based on") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Parameter(hidden = true) @CurrentUser Author author) {
         Section existingSection = sectionService.getSectionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Section not found with id " + id));
 
@@ -155,11 +160,13 @@ public class SectionController {
                 .lesson(existingSection.getLesson()) // Preserve associated lesson
                 .build();
 
-        Section updatedSection = sectionService.partialUpdate(id, sectionDetails);
-        return ResponseEntity.ok(updatedSection);
+        Section updatedSection = sectionService.partialUpdate(id, sectionDetails, EntityTags.expectedVersion(ifMatch, SECTION_TAG, id));
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(SECTION_TAG, id, updatedSection.getVersion()))
+                .body(SectionResponse.from(updatedSection));
     }
 
-    @Operation(summary = "Delete a section", description = "Deletes an existing section by its ID.")
+    @Operation(summary = "Delete a section", description = "Deletes an existing section by its ID, together with its progress records.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Section deleted successfully",
                     content = @Content),
@@ -171,11 +178,7 @@ public class SectionController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteSection(
             @Parameter(description = "ID of the section to delete", required = true) @PathVariable Long id,
-            Authentication authentication) {
-        String email = authentication.getName();
-        Author author = authorService.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
-
+            @Parameter(hidden = true) @CurrentUser Author author) {
         Section section = sectionService.getSectionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Section not found with id " + id));
 
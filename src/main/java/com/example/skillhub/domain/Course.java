@@ -8,6 +8,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.Date;
 
@@ -16,14 +19,22 @@ import java.util.Date;
 @NoArgsConstructor
 @Builder
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "course")
 @Schema(description = "Entity representing a course in the SkillHub platform")
 public class Course {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_seq")
+    @SequenceGenerator(name = "course_seq", sequenceName = "course_seq", allocationSize = 50)
     @Schema(description = "Unique identifier of the course", example = "1", required = true)
     private Long id;
 
+    @Version
+    @Schema(description = "Incremented on every change; the course's ETag is derived from it", example = "3", required = true)
+    private Long version;
+
     @NotBlank(message = "Title is mandatory")
     @Schema(description = "Title of the course", example = "Introduction to Java", required = true)
     private String title;
@@ -0,0 +1,42 @@
+package com.example.skillhub.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * Running per-status counts of a learner's progress records in one course.
+ * Kept up to date by ProgressServiceImpl on every progress write, so a
+ * completion summary is a single-row lookup.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "course_completion", uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "course_id"}))
+public class CourseCompletion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    private int notStartedCount;
+
+    private int incompleteCount;
+
+    private int completedCount;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date updatedAt;
+}
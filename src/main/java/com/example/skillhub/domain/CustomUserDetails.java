@@ -57,7 +57,7 @@ public class CustomUserDetails implements UserDetails {
         return author.getName();
     }
 
-    public Object getAuthor() {
+    public Author getAuthor() {
         return author;
     }
 }
@@ -8,6 +8,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.Date;
 import java.util.List;
@@ -17,14 +20,22 @@ import java.util.List;
 @NoArgsConstructor
 @Builder
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "lesson")
 @Schema(description = "Entity representing a lesson within a course")
 public class Lesson {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lesson_seq")
+    @SequenceGenerator(name = "lesson_seq", sequenceName = "lesson_seq", allocationSize = 50)
     @Schema(description = "Unique identifier of the lesson", example = "10", required = true)
     private Long id;
 
+    @Version
+    @Schema(description = "Incremented on every change; the lesson's ETag is derived from it", example = "3", required = true)
+    private Long version;
+
     @ManyToOne
     @Schema(description = "Course to which this lesson belongs")
     private Course course;
@@ -53,6 +64,8 @@ public class Lesson {
     private Date createdAt;
 
     @OneToMany(mappedBy = "lesson", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("createdAt ASC, id ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "lesson.sections")
     @JsonManagedReference
     @Schema(description = "List of sections within this lesson")
     private List<Section> sections;
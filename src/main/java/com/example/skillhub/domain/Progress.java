@@ -6,7 +6,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.util.Date;
 
@@ -15,27 +17,41 @@ import java.util.Date;
 @NoArgsConstructor
 @Builder
 @Entity
+@Table(name = "progress", uniqueConstraints = @UniqueConstraint(name = Progress.USER_SECTION_CONSTRAINT, columnNames = {"user_id", "section_id"}))
 @Schema(description = "Entity representing the progress of a user within a course")
 public class Progress {
 
+    // One row per (user, section); updated in place by ProgressService.upsertProgress
+    public static final String USER_SECTION_CONSTRAINT = "uk_progress_user_section";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "progress_seq")
+    @SequenceGenerator(name = "progress_seq", sequenceName = "progress_seq", allocationSize = 50)
     @Schema(description = "Unique identifier of the progress record", example = "100", required = true)
     private Long id;
 
-    @ManyToOne
+    // Most callers only need the ids, which an unloaded proxy answers without a query
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Schema(description = "User associated with this progress")
     private Author user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Schema(description = "Course associated with this progress")
     private Course course;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Schema(description = "Lesson associated with this progress")
     private Lesson lesson;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Schema(description = "Section associated with this progress")
     private Section section;
 
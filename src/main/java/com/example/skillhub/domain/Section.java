@@ -8,6 +8,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.Date;
 
@@ -16,14 +19,22 @@ import java.util.Date;
 @NoArgsConstructor
 @Builder
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "section")
 @Schema(description = "Entity representing a section within a lesson")
 public class Section {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "section_seq")
+    @SequenceGenerator(name = "section_seq", sequenceName = "section_seq", allocationSize = 50)
     @Schema(description = "Unique identifier of the section", example = "100", required = true)
     private Long id;
 
+    @Version
+    @Schema(description = "Incremented on every change; the section's ETag is derived from it", example = "3", required = true)
+    private Long version;
+
     @ManyToOne
     @JoinColumn(name = "lesson_id", nullable = false)
     @JsonBackReference
@@ -0,0 +1,29 @@
+package com.example.skillhub.domain.dto;
+
+import com.example.skillhub.enums.UserRoleInCourse;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Schema(description = "Data Transfer Object for enrolling many users into a course at once")
+public class BulkEnrollmentRequest {
+
+    @NotNull(message = "Course ID is mandatory")
+    @Schema(description = "Unique identifier of the course", example = "1", required = true)
+    private Long courseId;
+
+    @NotEmpty(message = "At least one email is required")
+    @Size(max = 10000, message = "At most 10000 emails per request")
+    @Schema(description = "Emails of the users to enroll", example = "[\"student1@example.com\", \"student2@example.com\"]", required = true)
+    private List<@NotBlank(message = "Emails must not be blank") @Email(message = "Each email should be valid") String> emails;
+
+    @Schema(description = "Role given to every new member; defaults to STUDENT", example = "STUDENT")
+    private UserRoleInCourse role = UserRoleInCourse.STUDENT;
+}
@@ -0,0 +1,47 @@
+package com.example.skillhub.domain.dto;
+
+import com.example.skillhub.enums.EnrollmentOutcome;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk enrollment, per email in request order")
+public class BulkEnrollmentResponse {
+
+    @Schema(description = "ID of the course", example = "1", required = true)
+    private Long courseId;
+
+    @Schema(description = "Memberships created", example = "4980", required = true)
+    private int enrolled;
+
+    @Schema(description = "Emails whose user was already a member", example = "12", required = true)
+    private int alreadyMembers;
+
+    @Schema(description = "Emails with no registered user", example = "8", required = true)
+    private int notFound;
+
+    @Schema(description = "One entry per email sent", required = true)
+    private List<Result> results;
+
+    @Data
+    @AllArgsConstructor
+    @Schema(description = "What happened to one email")
+    public static class Result {
+
+        @Schema(description = "Email as sent", example = "student1@example.com", required = true)
+        private String email;
+
+        @Schema(description = "Outcome for this email", example = "ENROLLED", required = true)
+        private EnrollmentOutcome outcome;
+
+        @Schema(description = "ID of the user, when one was found", example = "2")
+        private Long userId;
+
+        @Schema(description = "ID of the CourseUser created, for ENROLLED", example = "120")
+        private Long courseUserId;
+    }
+}
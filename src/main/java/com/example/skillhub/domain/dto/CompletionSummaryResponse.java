@@ -0,0 +1,37 @@
+package com.example.skillhub.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "How far a user has progressed through a course")
+public class CompletionSummaryResponse {
+
+    @Schema(description = "ID of the user", example = "1", required = true)
+    private Long userId;
+
+    @Schema(description = "ID of the course", example = "1", required = true)
+    private Long courseId;
+
+    @Schema(description = "Number of sections in the course", example = "40", required = true)
+    private long totalSections;
+
+    @Schema(description = "Progress records marked COMPLETED", example = "12", required = true)
+    private int completedSections;
+
+    @Schema(description = "Progress records marked INCOMPLETE", example = "3", required = true)
+    private int incompleteSections;
+
+    @Schema(description = "Progress records marked NOT_STARTED", example = "1", required = true)
+    private int notStartedSections;
+
+    @Schema(description = "Completed sections as a percentage of all sections, 0-100", example = "30.0", required = true)
+    private double percentComplete;
+
+    @Schema(description = "When the user's progress in this course last changed", example = "2024-12-17T10:25:30Z")
+    private Date updatedAt;
+}
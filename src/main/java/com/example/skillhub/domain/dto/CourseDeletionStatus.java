@@ -0,0 +1,48 @@
+package com.example.skillhub.domain.dto;
+
+import com.example.skillhub.enums.CourseDeletionState;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * Snapshot of a background course deletion. Counts are running totals of the
+ * rows deleted so far.
+ */
+@Data
+@AllArgsConstructor
+@Schema(description = "Progress of a background course deletion")
+public class CourseDeletionStatus {
+
+    @Schema(description = "ID of the deletion job", example = "9b2f4c1e-5d1a-4c7e-8f0a-2b6d3e9c7a10", required = true)
+    private String jobId;
+
+    @Schema(description = "ID of the course being deleted", example = "1", required = true)
+    private Long courseId;
+
+    @Schema(description = "Current step of the deletion", example = "DELETING_SECTIONS", required = true)
+    private CourseDeletionState state;
+
+    @Schema(description = "Progress records deleted so far", example = "120000", required = true)
+    private long progressDeleted;
+
+    @Schema(description = "Sections deleted so far", example = "1500", required = true)
+    private long sectionsDeleted;
+
+    @Schema(description = "Lessons deleted so far", example = "0", required = true)
+    private long lessonsDeleted;
+
+    @Schema(description = "Course members deleted so far", example = "0", required = true)
+    private long membersDeleted;
+
+    @Schema(description = "When the job was started", example = "2023-10-05T14:48:00Z", required = true)
+    private Date startedAt;
+
+    @Schema(description = "When the job completed or failed", example = "2023-10-05T14:49:12Z")
+    private Date finishedAt;
+
+    @Schema(description = "Why the job failed", example = "Could not open JPA EntityManager for transaction")
+    private String error;
+}
@@ -0,0 +1,27 @@
+package com.example.skillhub.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "Courses matching the selected facet values, with per-value counts")
+public class CourseFacetResponse {
+
+    @Schema(description = "Number of courses matching all selected facets", example = "42", required = true)
+    private int total;
+
+    @Schema(description = "For each facet, the number of matching courses per value. A facet's counts ignore its own selection so alternatives stay visible.",
+            example = "{\"category\":{\"Programming\":30,\"Design\":12},\"level\":{\"Beginner\":20}}", required = true)
+    private Map<String, Map<String, Integer>> facets;
+
+    @Schema(description = "One page of matching courses, ordered by id", required = true)
+    private List<CourseResponse> items;
+
+    @Schema(description = "Value to pass as 'after' for the next page; null on the last page", example = "57")
+    private Long next;
+}
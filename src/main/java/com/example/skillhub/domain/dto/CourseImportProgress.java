@@ -0,0 +1,50 @@
+package com.example.skillhub.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Streamed as one NDJSON line per committed chunk of an import. Counts are running
+ * totals; errors are only those of the rows since the previous line.
+ */
+@Data
+@AllArgsConstructor
+@Schema(description = "Progress of a bulk course import")
+public class CourseImportProgress {
+
+    @Schema(description = "Rows read so far", example = "1500", required = true)
+    private long rowsRead;
+
+    @Schema(description = "Courses created so far", example = "30", required = true)
+    private long coursesCreated;
+
+    @Schema(description = "Lessons created so far", example = "240", required = true)
+    private long lessonsCreated;
+
+    @Schema(description = "Sections created so far", example = "1200", required = true)
+    private long sectionsCreated;
+
+    @Schema(description = "Rows rejected since the previous progress line", required = true)
+    private List<RowError> errors;
+
+    @Schema(description = "True on the last line, once the whole body has been read", example = "false", required = true)
+    private boolean done;
+
+    @Data
+    @AllArgsConstructor
+    @Schema(description = "A row that was not imported")
+    public static class RowError {
+
+        @Schema(description = "1-based number of the row, not counting a CSV header or blank lines", example = "42", required = true)
+        private long row;
+
+        @Schema(description = "Ref of the row, if it had one", example = "java-basics-1")
+        private String ref;
+
+        @Schema(description = "Why the row was rejected", example = "title: Title is mandatory", required = true)
+        private String message;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.skillhub.domain.dto;
+
+import com.example.skillhub.enums.ContentType;
+import com.example.skillhub.enums.ImportRowType;
+import com.example.skillhub.enums.Rating;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * One line of an NDJSON import, or one record of a CSV import (the header row
+ * names these properties). A course tree is flattened into rows that point at
+ * their parent row by ref; a parent has to come before its children.
+ */
+@Data
+@Schema(description = "One course, lesson or section of a bulk course import")
+public class CourseImportRow {
+
+    @NotNull(message = "Type is mandatory")
+    @Schema(description = "What the row creates", example = "LESSON", required = true)
+    private ImportRowType type;
+
+    @Size(max = 255)
+    @Schema(description = "Name other rows use to refer to this one as their parent; unique within the import", example = "java-basics-1")
+    private String ref;
+
+    @Size(max = 255)
+    @Schema(description = "Ref of the parent row: a course for a lesson, a lesson for a section", example = "java-basics")
+    private String parent;
+
+    @NotBlank(message = "Title is mandatory")
+    @Size(max = 255)
+    @Schema(description = "Title of the course, lesson or section", example = "Introduction to Variables", required = true)
+    private String title;
+
+    @Size(max = 255)
+    @Schema(description = "Description of the course or lesson", example = "This lesson covers the basics of variables in Java.")
+    private String description;
+
+    @Size(max = 255)
+    @Schema(description = "Course image URL", example = "http://example.com/images/java-course.png")
+    private String image;
+
+    @Size(max = 255)
+    @Schema(description = "Course introductory video URL", example = "http://example.com/videos/java-intro.mp4")
+    private String video;
+
+    @Size(max = 255)
+    @Schema(description = "Course category", example = "Programming")
+    private String category;
+
+    @Size(max = 255)
+    @Schema(description = "Duration of the course or lesson", example = "2 hours")
+    private String duration;
+
+    @Size(max = 255)
+    @Schema(description = "Course price", example = "49.99")
+    private String price;
+
+    @Size(max = 255)
+    @Schema(description = "Difficulty level of the course or lesson", example = "Beginner")
+    private String level;
+
+    @Schema(description = "Rating of the course or lesson", example = "FOUR")
+    private Rating rating;
+
+    @Schema(description = "Type of content in the section", example = "TEXT")
+    private ContentType contentType;
+
+    @Size(max = 255)
+    @Schema(description = "URL to the section's content resource", example = "http://example.com/content/variables")
+    private String contentUrl;
+
+    @Size(max = 255)
+    @Schema(description = "Textual content of the section", example = "Variables are used to store data...")
+    private String contentText;
+}
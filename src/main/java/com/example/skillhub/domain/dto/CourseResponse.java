@@ -0,0 +1,88 @@
+package com.example.skillhub.domain.dto;
+
+import com.example.skillhub.domain.Course;
+import com.example.skillhub.enums.Rating;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "Course details with the owning author referenced by id")
+public class CourseResponse {
+
+    @Schema(description = "Unique identifier of the course", example = "1", required = true)
+    private Long id;
+
+    @Schema(description = "Version of the course; send its ETag in If-Match to update only this version", example = "3", required = true)
+    private Long version;
+
+    @Schema(description = "Title of the course", example = "Introduction to Java", required = true)
+    private String title;
+
+    @Schema(description = "Detailed description of the course", example = "Learn the fundamentals of Java programming.")
+    private String description;
+
+    @Schema(description = "URL of the course image", example = "http://example.com/images/java-course.png")
+    private String image;
+
+    @Schema(description = "URL of the course introductory video", example = "http://example.com/videos/java-intro.mp4")
+    private String video;
+
+    @Schema(description = "Category under which the course falls", example = "Programming")
+    private String category;
+
+    @Schema(description = "Duration of the course", example = "10 hours")
+    private String duration;
+
+    @Schema(description = "Price of the course", example = "49.99")
+    private String price;
+
+    @Schema(description = "Difficulty level of the course", example = "Beginner")
+    private String level;
+
+    @Schema(description = "Current status of the course", example = "active")
+    private String status;
+
+    @Schema(description = "Rating of the course", example = "FIVE")
+    private Rating rating;
+
+    @Schema(description = "Date when the course was created", example = "2024-12-17", required = true)
+    private Date createdDate;
+
+    @Schema(description = "Timestamp of the last modification made to the course", example = "2024-12-17T10:20:30Z", required = true)
+    private Date lastModifiedDate;
+
+    @Schema(description = "ID of the author who owns the course", example = "1", required = true)
+    private Long userId;
+
+    @Schema(description = "Email of the user who created the course", example = "john.doe@example.com")
+    private String createdBy;
+
+    @Schema(description = "Email of the user who last modified the course", example = "jane.doe@example.com")
+    private String lastModifiedBy;
+
+    public static CourseResponse from(Course course) {
+        return new CourseResponse(
+                course.getId(),
+                course.getVersion(),
+                course.getTitle(),
+                course.getDescription(),
+                course.getImage(),
+                course.getVideo(),
+                course.getCategory(),
+                course.getDuration(),
+                course.getPrice(),
+                course.getLevel(),
+                course.getStatus(),
+                course.getRating(),
+                course.getCreatedDate(),
+                course.getLastModifiedDate(),
+                course.getUser() != null ? course.getUser().getId() : null,
+                course.getCreatedBy(),
+                course.getLastModifiedBy()
+        );
+    }
+}
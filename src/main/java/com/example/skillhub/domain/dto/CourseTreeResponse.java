@@ -0,0 +1,94 @@
+package com.example.skillhub.domain.dto;
+
+import com.example.skillhub.enums.ContentType;
+import com.example.skillhub.enums.Rating;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Date;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "A course together with all of its lessons and their sections")
+public class CourseTreeResponse {
+
+    @Schema(description = "Unique identifier of the course", example = "1", required = true)
+    private Long id;
+
+    @Schema(description = "Title of the course", example = "Introduction to Java", required = true)
+    private String title;
+
+    @Schema(description = "Detailed description of the course", example = "Learn the fundamentals of Java programming.")
+    private String description;
+
+    @Schema(description = "Category under which the course falls", example = "Programming")
+    private String category;
+
+    @Schema(description = "Difficulty level of the course", example = "Beginner")
+    private String level;
+
+    @Schema(description = "Current status of the course", example = "active")
+    private String status;
+
+    @Schema(description = "Rating of the course", example = "FIVE")
+    private Rating rating;
+
+    @Schema(description = "Timestamp of the last modification made to the course", example = "2024-12-17T10:20:30Z")
+    private Date lastModifiedDate;
+
+    @Schema(description = "Lessons of the course in creation order", required = true)
+    private List<LessonNode> lessons;
+
+    @Data
+    @AllArgsConstructor
+    @Schema(description = "A lesson within a course tree")
+    public static class LessonNode {
+
+        @Schema(description = "Unique identifier of the lesson", example = "10", required = true)
+        private Long id;
+
+        @Schema(description = "Title of the lesson", example = "Introduction to Variables", required = true)
+        private String title;
+
+        @Schema(description = "Detailed description of the lesson", example = "This lesson covers the basics of variables in Java.")
+        private String description;
+
+        @Schema(description = "Duration of the lesson", example = "2 hours")
+        private String duration;
+
+        @Schema(description = "Difficulty level of the lesson", example = "Beginner")
+        private String level;
+
+        @Schema(description = "Current status of the lesson", example = "active")
+        private String status;
+
+        @Schema(description = "Rating of the lesson", example = "FOUR")
+        private Rating rating;
+
+        @Schema(description = "Sections of the lesson in creation order", required = true)
+        private List<SectionNode> sections;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @Schema(description = "A section within a course tree")
+    public static class SectionNode {
+
+        @Schema(description = "Unique identifier of the section", example = "100", required = true)
+        private Long id;
+
+        @Schema(description = "Title of the section", example = "Introduction to Variables", required = true)
+        private String title;
+
+        @Schema(description = "Type of content in the section", example = "TEXT")
+        private ContentType contentType;
+
+        @Schema(description = "URL to the content resource", example = "http://example.com/content/variables")
+        private String contentUrl;
+
+        @Schema(description = "Textual content of the section", example = "Variables are used to store data...")
+        private String contentText;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.skillhub.domain.dto;
+
+import com.example.skillhub.domain.CourseUser;
+import com.example.skillhub.enums.Status;
+import com.example.skillhub.enums.UserRoleInCourse;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "Course membership with the course and user referenced by id")
+public class CourseUserResponse {
+
+    @Schema(description = "Unique identifier of the CourseUser association", example = "1", required = true)
+    private Long id;
+
+    @Schema(description = "ID of the course", example = "1", required = true)
+    private Long courseId;
+
+    @Schema(description = "ID of the user", example = "2", required = true)
+    private Long userId;
+
+    @Schema(description = "Role of the user within the course", example = "COLLABORATOR", required = true)
+    private UserRoleInCourse role;
+
+    @Schema(description = "Current status of the user's association with the course", example = "ACTIVE", required = true)
+    private Status status;
+
+    @Schema(description = "Date when the association was created", example = "2024-12-17", required = true)
+    private Date createdAt;
+
+    public static CourseUserResponse from(CourseUser courseUser) {
+        return new CourseUserResponse(
+                courseUser.getId(),
+                courseUser.getCourse() != null ? courseUser.getCourse().getId() : null,
+                courseUser.getUser() != null ? courseUser.getUser().getId() : null,
+                courseUser.getRole(),
+                courseUser.getStatus(),
+                courseUser.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.skillhub.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "One page of a keyset-paginated listing ordered by creation time and id")
+public class CursorPage<T> {
+
+    public static final int MAX_LIMIT = 500;
+
+    @Schema(description = "Items on this page", required = true)
+    private List<T> items;
+
+    @Schema(description = "Opaque cursor for the next page, absent on the last page", example = "MTczNDQzMjgwMDAwMDo0Mg")
+    private String next;
+
+    public static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * Builds a page from a query that fetched {@code limit + 1} rows; the extra row
+     * only signals that another page exists and is dropped from the result.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, cursorOf.apply(items.get(limit - 1)).encode());
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.skillhub.domain.dto;
+
+import com.example.skillhub.domain.Lesson;
+import com.example.skillhub.enums.Rating;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "Lesson details with the parent course referenced by id")
+public class LessonResponse {
+
+    @Schema(description = "Unique identifier of the lesson", example = "10", required = true)
+    private Long id;
+
+    @Schema(description = "Version of the lesson; send its ETag in If-Match to update only this version", example = "3", required = true)
+    private Long version;
+
+    @Schema(description = "ID of the course to which this lesson belongs", example = "1", required = true)
+    private Long courseId;
+
+    @Schema(description = "Title of the lesson", example = "Introduction to Variables", required = true)
+    private String title;
+
+    @Schema(description = "Detailed description of the lesson", example = "This lesson covers the basics of variables in Java.")
+    private String description;
+
+    @Schema(description = "Duration of the lesson", example = "2 hours")
+    private String duration;
+
+    @Schema(description = "Difficulty level of the lesson", example = "Beginner")
+    private String level;
+
+    @Schema(description = "Current status of the lesson", example = "active")
+    private String status;
+
+    @Schema(description = "Rating of the lesson", example = "FOUR")
+    private Rating rating;
+
+    @Schema(description = "Timestamp when the lesson was created", example = "2024-12-17T10:20:30Z", required = true)
+    private Date createdAt;
+
+    public static LessonResponse from(Lesson lesson) {
+        return new LessonResponse(
+                lesson.getId(),
+                lesson.getVersion(),
+                lesson.getCourse() != null ? lesson.getCourse().getId() : null,
+                lesson.getTitle(),
+                lesson.getDescription(),
+                lesson.getDuration(),
+                lesson.getLevel(),
+                lesson.getStatus(),
+                lesson.getRating(),
+                lesson.getCreatedAt()
+        );
+    }
+}
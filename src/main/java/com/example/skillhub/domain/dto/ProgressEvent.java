@@ -0,0 +1,13 @@
+package com.example.skillhub.domain.dto;
+
+import com.example.skillhub.enums.ProgressStatus;
+
+import java.util.Date;
+
+/**
+ * A progress report accepted for asynchronous ingestion. Only the latest event
+ * per (user, section) survives until the next flush.
+ */
+public record ProgressEvent(Long userId, Long courseId, Long lessonId, Long sectionId,
+                            ProgressStatus status, Date receivedAt) {
+}
@@ -0,0 +1,48 @@
+package com.example.skillhub.domain.dto;
+
+import com.example.skillhub.domain.Progress;
+import com.example.skillhub.enums.ProgressStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "Progress record with the user, course, lesson and section referenced by id")
+public class ProgressResponse {
+
+    @Schema(description = "Unique identifier of the progress record", example = "100", required = true)
+    private Long id;
+
+    @Schema(description = "ID of the user associated with this progress", example = "1", required = true)
+    private Long userId;
+
+    @Schema(description = "ID of the course associated with this progress", example = "1", required = true)
+    private Long courseId;
+
+    @Schema(description = "ID of the lesson associated with this progress", example = "10", required = true)
+    private Long lessonId;
+
+    @Schema(description = "ID of the section associated with this progress", example = "100", required = true)
+    private Long sectionId;
+
+    @Schema(description = "Current status of the progress", example = "IN_PROGRESS", required = true)
+    private ProgressStatus status;
+
+    @Schema(description = "Timestamp when the progress was recorded", example = "2024-12-17T10:25:30Z", required = true)
+    private Date createdAt;
+
+    public static ProgressResponse from(Progress progress) {
+        return new ProgressResponse(
+                progress.getId(),
+                progress.getUser() != null ? progress.getUser().getId() : null,
+                progress.getCourse() != null ? progress.getCourse().getId() : null,
+                progress.getLesson() != null ? progress.getLesson().getId() : null,
+                progress.getSection() != null ? progress.getSection().getId() : null,
+                progress.getStatus(),
+                progress.getCreatedAt()
+        );
+    }
+}
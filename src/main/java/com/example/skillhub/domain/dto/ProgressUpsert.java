@@ -0,0 +1,7 @@
+package com.example.skillhub.domain.dto;
+
+/**
+ * The progress row after an upsert, and whether the upsert created it.
+ */
+public record ProgressUpsert(ProgressResponse progress, boolean created) {
+}
@@ -0,0 +1,27 @@
+package com.example.skillhub.domain.dto;
+
+import com.example.skillhub.enums.SearchDocumentType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "A single search result, best matches first")
+public class SearchHitResponse {
+
+    @Schema(description = "Kind of entry that matched", example = "LESSON", required = true)
+    private SearchDocumentType type;
+
+    @Schema(description = "ID of the course, lesson or section", example = "10", required = true)
+    private Long id;
+
+    @Schema(description = "Course ID for a lesson, lesson ID for a section, null for a course", example = "1")
+    private Long parentId;
+
+    @Schema(description = "Title of the matched entry", example = "Variables and Types")
+    private String title;
+
+    @Schema(description = "BM25 relevance score", example = "3.42", required = true)
+    private double score;
+}
@@ -0,0 +1,52 @@
+package com.example.skillhub.domain.dto;
+
+import com.example.skillhub.domain.Section;
+import com.example.skillhub.enums.ContentType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "Section details with the parent lesson referenced by id")
+public class SectionResponse {
+
+    @Schema(description = "Unique identifier of the section", example = "100", required = true)
+    private Long id;
+
+    @Schema(description = "Version of the section; send its ETag in If-Match to update only this version", example = "3", required = true)
+    private Long version;
+
+    @Schema(description = "ID of the lesson to which this section belongs", example = "10", required = true)
+    private Long lessonId;
+
+    @Schema(description = "Title of the section", example = "Introduction to Variables", required = true)
+    private String title;
+
+    @Schema(description = "Type of content in the section", example = "TEXT")
+    private ContentType contentType;
+
+    @Schema(description = "URL to the content resource", example = "http://example.com/content/variables")
+    private String contentUrl;
+
+    @Schema(description = "Textual content of the section", example = "Variables are used to store data...")
+    private String contentText;
+
+    @Schema(description = "Timestamp when the section was created", example = "2024-12-17T10:30:00Z", required = true)
+    private Date createdAt;
+
+    public static SectionResponse from(Section section) {
+        return new SectionResponse(
+                section.getId(),
+                section.getVersion(),
+                section.getLesson() != null ? section.getLesson().getId() : null,
+                section.getTitle(),
+                section.getContentType(),
+                section.getContentUrl(),
+                section.getContentText(),
+                section.getCreatedAt()
+        );
+    }
+}
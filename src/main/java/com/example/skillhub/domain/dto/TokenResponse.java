@@ -0,0 +1,29 @@
+package com.example.skillhub.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.Date;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Schema(description = "Login response carrying a bearer token (security.auth.mode=token)")
+public class TokenResponse extends AuthResponse {
+
+    @Schema(description = "Signed token to send as 'Authorization: Bearer <token>'", required = true)
+    private String token;
+
+    @Schema(description = "Token type", example = "Bearer", required = true)
+    private String tokenType;
+
+    @Schema(description = "When the token stops being accepted", example = "2024-12-17T11:00:00.000+00:00", required = true)
+    private Date expiresAt;
+
+    public TokenResponse(String message, String token, Date expiresAt) {
+        super(message);
+        this.token = token;
+        this.tokenType = "Bearer";
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.skillhub.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Enumeration representing how far a background course deletion has got")
+public enum CourseDeletionState {
+
+    @Schema(description = "Waiting for a worker thread")
+    QUEUED,
+
+    @Schema(description = "Deleting the progress records of the course")
+    DELETING_PROGRESS,
+
+    @Schema(description = "Deleting the sections of the course")
+    DELETING_SECTIONS,
+
+    @Schema(description = "Deleting the lessons of the course")
+    DELETING_LESSONS,
+
+    @Schema(description = "Deleting the members of the course")
+    DELETING_MEMBERS,
+
+    @Schema(description = "The course and everything under it is gone")
+    COMPLETED,
+
+    @Schema(description = "Stopped on an error; what was deleted stays deleted and the course can be deleted again")
+    FAILED;
+}
@@ -0,0 +1,19 @@
+package com.example.skillhub.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Course attributes the catalog can be filtered and counted by")
+public enum CourseFacet {
+
+    @Schema(description = "Course category")
+    CATEGORY,
+
+    @Schema(description = "Difficulty level")
+    LEVEL,
+
+    @Schema(description = "Course rating")
+    RATING,
+
+    @Schema(description = "Course status")
+    STATUS;
+}
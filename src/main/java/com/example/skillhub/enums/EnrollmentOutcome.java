@@ -0,0 +1,19 @@
+package com.example.skillhub.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Enumeration representing what a bulk enrollment did with one email")
+public enum EnrollmentOutcome {
+
+    @Schema(description = "A new membership was created")
+    ENROLLED,
+
+    @Schema(description = "The user already had a membership in the course; it was left unchanged")
+    ALREADY_MEMBER,
+
+    @Schema(description = "No user is registered with this email")
+    NOT_FOUND,
+
+    @Schema(description = "The email appeared earlier in the same request")
+    DUPLICATE;
+}
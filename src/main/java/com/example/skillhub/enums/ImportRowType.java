@@ -0,0 +1,16 @@
+package com.example.skillhub.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Enumeration representing what a row of a course import creates")
+public enum ImportRowType {
+
+    @Schema(description = "A course; its ref can be the parent of lesson rows")
+    COURSE,
+
+    @Schema(description = "A lesson of the course named by parent; its ref can be the parent of section rows")
+    LESSON,
+
+    @Schema(description = "A section of the lesson named by parent")
+    SECTION;
+}
@@ -0,0 +1,16 @@
+package com.example.skillhub.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Kind of catalog entry returned by search")
+public enum SearchDocumentType {
+
+    @Schema(description = "A course, matched on title and description")
+    COURSE,
+
+    @Schema(description = "A lesson, matched on title and description")
+    LESSON,
+
+    @Schema(description = "A section, matched on title and content text")
+    SECTION;
+}
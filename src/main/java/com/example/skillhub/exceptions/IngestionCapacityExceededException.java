@@ -0,0 +1,7 @@
+package com.example.skillhub.exceptions;
+
+public class IngestionCapacityExceededException extends RuntimeException {
+    public IngestionCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.skillhub.exceptions;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+// Extends an AuthenticationException so it travels through the authentication providers untouched
+public class LoginCapacityExceededException extends AuthenticationServiceException {
+    public LoginCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,4 +17,11 @@ public interface AuthorRepository extends JpaRepository<Author, Long> {
 
     @Query("SELECT COUNT(a) > 0 FROM Author a WHERE a.email = :email")
     boolean existsByEmail(@Param("email") String email);
+
+    interface IdAndEmail {
+        Long getId();
+        String getEmail();
+    }
+
+    List<IdAndEmail> findByEmailIn(Collection<String> emails);
 }
@@ -0,0 +1,45 @@
+package com.example.skillhub.repositories;
+
+import com.example.skillhub.domain.CourseCompletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.Optional;
+
+@Repository
+public interface CourseCompletionRepository extends JpaRepository<CourseCompletion, Long> {
+
+    Optional<CourseCompletion> findByUserIdAndCourseId(Long userId, Long courseId);
+
+    // Applied in the database so concurrent writers never lose an increment
+    @Modifying
+    @Query("UPDATE CourseCompletion c SET c.notStartedCount = c.notStartedCount + :notStarted, " +
+            "c.incompleteCount = c.incompleteCount + :incomplete, c.completedCount = c.completedCount + :completed, " +
+            "c.updatedAt = :updatedAt WHERE c.userId = :userId AND c.courseId = :courseId")
+    int adjustCounts(@Param("userId") Long userId,
+                     @Param("courseId") Long courseId,
+                     @Param("notStarted") int notStarted,
+                     @Param("incomplete") int incomplete,
+                     @Param("completed") int completed,
+                     @Param("updatedAt") Date updatedAt);
+
+    // Recounts every summary of the course from the progress table, after progress rows were deleted in bulk
+    @Modifying
+    @Query("UPDATE CourseCompletion c SET " +
+            "c.notStartedCount = (SELECT COUNT(p) FROM Progress p WHERE p.user.id = c.userId AND p.course.id = c.courseId " +
+            "AND p.status = com.example.skillhub.enums.ProgressStatus.NOT_STARTED), " +
+            "c.incompleteCount = (SELECT COUNT(p) FROM Progress p WHERE p.user.id = c.userId AND p.course.id = c.courseId " +
+            "AND p.status = com.example.skillhub.enums.ProgressStatus.INCOMPLETE), " +
+            "c.completedCount = (SELECT COUNT(p) FROM Progress p WHERE p.user.id = c.userId AND p.course.id = c.courseId " +
+            "AND p.status = com.example.skillhub.enums.ProgressStatus.COMPLETED), " +
+            "c.updatedAt = :updatedAt WHERE c.courseId = :courseId")
+    int recountByCourseId(@Param("courseId") Long courseId, @Param("updatedAt") Date updatedAt);
+
+    @Modifying
+    @Query("DELETE FROM CourseCompletion c WHERE c.courseId = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+}
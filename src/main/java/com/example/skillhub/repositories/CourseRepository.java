@@ -1,9 +1,43 @@
 package com.example.skillhub.repositories;
 
 import com.example.skillhub.domain.Course;
+import com.example.skillhub.domain.dto.CourseResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
+
+    String SELECT_RESPONSE = "SELECT new com.example.skillhub.domain.dto.CourseResponse(" +
+            "c.id, c.version, c.title, c.description, c.image, c.video, c.category, c.duration, c.price, c.level, c.status, c.rating, c.createdDate, c.lastModifiedDate, c.user.id, c.createdBy, c.lastModifiedBy) FROM Course c ";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_RESPONSE + "ORDER BY c.createdDate, c.id")
+    List<CourseResponse> findPage(Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_RESPONSE + "WHERE (c.createdDate, c.id) > (:createdAt, :id) ORDER BY c.createdDate, c.id")
+    List<CourseResponse> findPageAfter(@Param("createdAt") Date createdAt, @Param("id") Long id, Limit limit);
+
+    @Query(SELECT_RESPONSE + "WHERE c.id IN :ids ORDER BY c.id")
+    List<CourseResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Rows of (id, category, level, rating, status) for building the facet index
+    @Query("SELECT c.id, c.category, c.level, c.rating, c.status FROM Course c")
+    List<Object[]> findFacetValues();
+
+    @Modifying
+    @Query("DELETE FROM Course c WHERE c.id = :id")
+    int deleteCourseById(@Param("id") Long id);
 }
@@ -1,15 +1,51 @@
 package com.example.skillhub.repositories;
 
 import com.example.skillhub.domain.CourseUser;
+import com.example.skillhub.domain.dto.CourseUserResponse;
 import com.example.skillhub.enums.UserRoleInCourse;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CourseUserRepository extends JpaRepository<CourseUser, Long> {
     boolean existsByCourseIdAndUserIdAndRole(Long courseId, Long userId, UserRoleInCourse role);
     List<CourseUser> findByCourseId(Long courseId);
 
+    // The membership with its course and the course owner, for the owner check on removal
+    @EntityGraph(attributePaths = {"course", "course.user"})
+    Optional<CourseUser> findWithCourseById(Long id);
+
+    @Query("SELECT cu.user.id FROM CourseUser cu WHERE cu.course.id = :courseId AND cu.user.id IN :userIds")
+    List<Long> findMemberIds(@Param("courseId") Long courseId, @Param("userIds") Collection<Long> userIds);
+
+    String SELECT_RESPONSE = "SELECT new com.example.skillhub.domain.dto.CourseUserResponse(" +
+            "cu.id, cu.course.id, cu.user.id, cu.role, cu.status, cu.createdAt) FROM CourseUser cu ";
+
+    @Query(SELECT_RESPONSE + "WHERE cu.course.id = :courseId ORDER BY cu.createdAt, cu.id")
+    List<CourseUserResponse> findPageByCourseId(@Param("courseId") Long courseId, Limit limit);
+
+    @Query(SELECT_RESPONSE + "WHERE cu.course.id = :courseId AND (cu.createdAt, cu.id) > (:createdAt, :id) ORDER BY cu.createdAt, cu.id")
+    List<CourseUserResponse> findPageByCourseIdAfter(@Param("courseId") Long courseId, @Param("createdAt") Date createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT cu.id FROM CourseUser cu WHERE cu.course.id = :courseId ORDER BY cu.id")
+    List<Long> findIdsByCourseId(@Param("courseId") Long courseId, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM CourseUser cu WHERE cu.course.id = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("DELETE FROM CourseUser cu WHERE cu.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
 }
@@ -1,9 +1,47 @@
 package com.example.skillhub.repositories;
 
 import com.example.skillhub.domain.Lesson;
+import com.example.skillhub.domain.dto.LessonResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
 @Repository
 public interface LessonRepository extends JpaRepository<Lesson, Long> {
+
+    String SELECT_RESPONSE = "SELECT new com.example.skillhub.domain.dto.LessonResponse(" +
+            "l.id, l.version, l.course.id, l.title, l.description, l.duration, l.level, l.status, l.rating, l.createdAt) FROM Lesson l ";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_RESPONSE + "ORDER BY l.createdAt, l.id")
+    List<LessonResponse> findPage(Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_RESPONSE + "WHERE (l.createdAt, l.id) > (:createdAt, :id) ORDER BY l.createdAt, l.id")
+    List<LessonResponse> findPageAfter(@Param("createdAt") Date createdAt, @Param("id") Long id, Limit limit);
+
+    // Loads every lesson of a course with its sections in a single statement
+    @Query("SELECT l FROM Lesson l LEFT JOIN FETCH l.sections WHERE l.course.id = :courseId ORDER BY l.createdAt, l.id")
+    List<Lesson> findWithSectionsByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT l.id FROM Lesson l WHERE l.course.id = :courseId ORDER BY l.id")
+    List<Long> findIdsByCourseId(@Param("courseId") Long courseId, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Lesson l WHERE l.course.id = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("DELETE FROM Lesson l WHERE l.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
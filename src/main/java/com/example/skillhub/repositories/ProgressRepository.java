@@ -1,9 +1,62 @@
 package com.example.skillhub.repositories;
 
 import com.example.skillhub.domain.Progress;
+import com.example.skillhub.domain.dto.ProgressResponse;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface ProgressRepository extends JpaRepository<Progress, Long> {
+
+    // Selects only the columns of ProgressResponse; references are read from the foreign keys without joins
+    String SELECT_RESPONSE = "SELECT new com.example.skillhub.domain.dto.ProgressResponse(" +
+            "p.id, p.user.id, p.course.id, p.lesson.id, p.section.id, p.status, p.createdAt) FROM Progress p ";
+
+    @Query(SELECT_RESPONSE + "ORDER BY p.createdAt, p.id")
+    List<ProgressResponse> findPage(Limit limit);
+
+    @Query(SELECT_RESPONSE + "WHERE (p.createdAt, p.id) > (:createdAt, :id) ORDER BY p.createdAt, p.id")
+    List<ProgressResponse> findPageAfter(@Param("createdAt") Date createdAt, @Param("id") Long id, Limit limit);
+
+    @Query(SELECT_RESPONSE + "WHERE p.user.id = :userId AND p.section.id = :sectionId")
+    Optional<ProgressResponse> findResponse(@Param("userId") Long userId, @Param("sectionId") Long sectionId);
+
+    // Every row of each user for each section; callers pick out the (user, section) pairs they need
+    @Query("SELECT p FROM Progress p WHERE p.user.id IN :userIds AND p.section.id IN :sectionIds")
+    List<Progress> findByUserIdsAndSectionIds(@Param("userIds") Collection<Long> userIds,
+                                              @Param("sectionIds") Collection<Long> sectionIds);
+
+    // Rows referencing the course directly or through one of its lessons or sections
+    String IN_COURSE = "WHERE p.course.id = :courseId " +
+            "OR p.lesson.id IN (SELECT l.id FROM Lesson l WHERE l.course.id = :courseId) " +
+            "OR p.section.id IN (SELECT s.id FROM Section s WHERE s.lesson.course.id = :courseId)";
+
+    @Modifying
+    @Query("DELETE FROM Progress p " + IN_COURSE)
+    int deleteByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT p.id FROM Progress p " + IN_COURSE + " ORDER BY p.id")
+    List<Long> findIdsByCourseId(@Param("courseId") Long courseId, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Progress p WHERE p.lesson.id IN :lessonIds " +
+            "OR p.section.id IN (SELECT s.id FROM Section s WHERE s.lesson.id IN :lessonIds)")
+    int deleteByLessonIdIn(@Param("lessonIds") Collection<Long> lessonIds);
+
+    @Modifying
+    @Query("DELETE FROM Progress p WHERE p.section.id IN :sectionIds")
+    int deleteBySectionIdIn(@Param("sectionIds") Collection<Long> sectionIds);
+
+    @Modifying
+    @Query("DELETE FROM Progress p WHERE p.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
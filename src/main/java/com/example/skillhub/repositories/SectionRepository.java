@@ -1,9 +1,58 @@
 package com.example.skillhub.repositories;
 
 import com.example.skillhub.domain.Section;
+import com.example.skillhub.domain.dto.SectionResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
 @Repository
 public interface SectionRepository extends JpaRepository<Section, Long> {
+
+    String SELECT_RESPONSE = "SELECT new com.example.skillhub.domain.dto.SectionResponse(" +
+            "s.id, s.version, s.lesson.id, s.title, s.contentType, s.contentUrl, s.contentText, s.createdAt) FROM Section s ";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_RESPONSE + "ORDER BY s.createdAt, s.id")
+    List<SectionResponse> findPage(Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_RESPONSE + "WHERE (s.createdAt, s.id) > (:createdAt, :id) ORDER BY s.createdAt, s.id")
+    List<SectionResponse> findPageAfter(@Param("createdAt") Date createdAt, @Param("id") Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT COUNT(s) FROM Section s WHERE s.lesson.course.id = :courseId")
+    long countByCourseId(@Param("courseId") Long courseId);
+
+    // Rows of (section id, lesson id, course id)
+    @Query("SELECT s.id, s.lesson.id, s.lesson.course.id FROM Section s WHERE s.id IN :ids")
+    List<Object[]> findHierarchy(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s.id FROM Section s WHERE s.lesson.course.id = :courseId ORDER BY s.id")
+    List<Long> findIdsByCourseId(@Param("courseId") Long courseId, Limit limit);
+
+    @Query("SELECT s.id FROM Section s WHERE s.lesson.id IN :lessonIds")
+    List<Long> findIdsByLessonIdIn(@Param("lessonIds") Collection<Long> lessonIds);
+
+    @Modifying
+    @Query("DELETE FROM Section s WHERE s.lesson.id IN (SELECT l.id FROM Lesson l WHERE l.course.id = :courseId)")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("DELETE FROM Section s WHERE s.lesson.id IN :lessonIds")
+    int deleteByLessonIdIn(@Param("lessonIds") Collection<Long> lessonIds);
+
+    @Modifying
+    @Query("DELETE FROM Section s WHERE s.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
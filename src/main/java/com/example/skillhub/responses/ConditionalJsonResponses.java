@@ -0,0 +1,117 @@
+package com.example.skillhub.responses;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Answers conditional GETs for read-mostly resources. The caller supplies a strong
+ * ETag that changes whenever the representation does; a matching If-None-Match (or,
+ * without one, an If-Modified-Since no older than the resource) gets a bodyless 304.
+ * <p>
+ * Otherwise the body is serialized once per ETag and kept, plain and gzipped, so
+ * repeated reads of an unchanged resource skip both Jackson and compression. The
+ * gzipped variant carries its own ETag since it is a different representation.
+ */
+@Component
+public class ConditionalJsonResponses {
+
+    private static final String GZIP = "gzip";
+
+    private record Body(byte[] json, byte[] gzip) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Body> bodies;
+
+    @Autowired
+    public ConditionalJsonResponses(ObjectMapper objectMapper,
+                                    @Value("${response.cache.maximum-size:64MB}") DataSize maximumSize,
+                                    @Value("${response.cache.expire-after-access:10m}") Duration expireAfterAccess,
+                                    MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.bodies = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .<String, Body>weigher((etag, body) -> body.json().length + body.gzip().length)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, bodies, "responseBodies");
+    }
+
+    /**
+     * Returns {@code null} once a 304 has been written; Spring MVC then treats the
+     * request as handled. {@code lastModified} may be {@code null} when the resource
+     * has no meaningful modification date (a page of a listing, for instance).
+     */
+    public ResponseEntity<byte[]> respond(NativeWebRequest request, String etag, Date lastModified, Supplier<?> body) {
+        boolean gzip = acceptsGzip(request);
+        HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+        if (response != null) {
+            // Lets clients keep the body and revalidate, instead of Spring Security's no-store default
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        long lastModifiedMillis = lastModified != null ? lastModified.getTime() : -1;
+        if (request.checkNotModified(gzip ? etag + "-" + GZIP : etag, lastModifiedMillis)) {
+            return null;
+        }
+
+        Body cached = bodies.get(etag, key -> serialize(body.get()));
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(cached.gzip());
+        }
+        return builder.body(cached.json());
+    }
+
+    private Body serialize(Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(json);
+            }
+            return new Body(json, compressed.toByteArray());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize response body", ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static boolean acceptsGzip(NativeWebRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase(GZIP)) {
+                // "gzip;q=0" explicitly refuses it
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
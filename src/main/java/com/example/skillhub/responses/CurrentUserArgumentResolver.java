@@ -3,7 +3,14 @@ package com.example.skillhub.responses;
 import com.example.skillhub.domain.Author;
 import com.example.skillhub.domain.CurrentUser;
 import com.example.skillhub.domain.CustomUserDetails;
+import com.example.skillhub.exceptions.ResourceNotFoundException;
+import com.example.skillhub.services.AuthorService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -13,6 +20,15 @@ import org.springframework.web.method.support.ModelAndViewContainer;
 
 @Component
 public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+    private static final String CURRENT_AUTHOR_ATTRIBUTE = CurrentUserArgumentResolver.class.getName() + ".author";
+
+    private final AuthorService authorService;
+
+    @Autowired
+    public CurrentUserArgumentResolver(@Lazy AuthorService authorService) {
+        this.authorService = authorService;
+    }
+
     @Override
     public boolean supportsParameter(MethodParameter parameter) {
         return parameter.hasParameterAnnotation(CurrentUser.class) &&
@@ -24,11 +40,24 @@ public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolve
                                   ModelAndViewContainer mavContainer,
                                   NativeWebRequest webRequest,
                                   WebDataBinderFactory binderFactory) throws Exception {
-        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        if (principal instanceof CustomUserDetails) {
-            return ((CustomUserDetails) principal).getAuthor(); // Assuming getAuthor() method exists
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        // The session principal already carries the author loaded at login
+        if (authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return userDetails.getAuthor();
+        }
+
+        // Other principals only carry a username; look it up once per request
+        Object cached = webRequest.getAttribute(CURRENT_AUTHOR_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof Author author) {
+            return author;
         }
-        return null;
+        Author author = authorService.findByEmail(authentication.getName())
+                .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
+        webRequest.setAttribute(CURRENT_AUTHOR_ATTRIBUTE, author, RequestAttributes.SCOPE_REQUEST);
+        return author;
     }
 
 }
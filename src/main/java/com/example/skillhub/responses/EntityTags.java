@@ -0,0 +1,51 @@
+package com.example.skillhub.responses;
+
+import com.example.skillhub.exceptions.PreconditionFailedException;
+
+/**
+ * Strong ETags for versioned entities, of the form {@code "course-12-3"}: the
+ * resource type, its id and its {@code @Version}. Any committed change bumps the
+ * version, so the tag identifies one state of the row.
+ */
+public final class EntityTags {
+
+    // ConditionalJsonResponses tags the gzipped body of the same state with this suffix
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    private EntityTags() {
+    }
+
+    public static String of(String type, Long id, Long version) {
+        return type + "-" + id + "-" + version;
+    }
+
+    /**
+     * The version an update must apply to, read from its If-Match header, or
+     * {@code null} when the header is absent or {@code *}. A header naming no state
+     * of this resource can never match, so it fails the request right away.
+     */
+    public static Long expectedVersion(String ifMatch, String type, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = type + "-" + id + "-";
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            tag = tag.replace("\"", "");
+            if (tag.endsWith(GZIP_SUFFIX)) {
+                tag = tag.substring(0, tag.length() - GZIP_SUFFIX.length());
+            }
+            if (tag.startsWith(prefix)) {
+                try {
+                    return Long.valueOf(tag.substring(prefix.length()));
+                } catch (NumberFormatException ignored) {
+                    // Not one of ours; try the next tag
+                }
+            }
+        }
+        throw new PreconditionFailedException("If-Match " + ifMatch + " does not name a version of " + type + " " + id);
+    }
+}
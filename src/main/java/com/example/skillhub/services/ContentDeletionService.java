@@ -0,0 +1,13 @@
+package com.example.skillhub.services;
+
+import com.example.skillhub.domain.dto.CourseDeletionStatus;
+
+import java.util.Optional;
+
+public interface ContentDeletionService {
+    void deleteCourse(Long courseId);
+    void deleteLesson(Long lessonId);
+    void deleteSection(Long sectionId);
+    CourseDeletionStatus startCourseDeletion(Long courseId, Long requestedBy);
+    Optional<CourseDeletionStatus> getCourseDeletion(String jobId, Long requestedBy);
+}
@@ -0,0 +1,17 @@
+package com.example.skillhub.services;
+
+import com.example.skillhub.domain.Author;
+import com.example.skillhub.domain.dto.CourseImportProgress;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface CourseImportService {
+    MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    CourseImportProgress importCourses(InputStream body, MediaType format, Author owner,
+                                       Consumer<CourseImportProgress> progress) throws IOException;
+}
@@ -2,16 +2,27 @@ package com.example.skillhub.services;
 
 import com.example.skillhub.domain.Author;
 import com.example.skillhub.domain.Course;
+import com.example.skillhub.domain.dto.CourseFacetResponse;
+import com.example.skillhub.domain.dto.CourseResponse;
+import com.example.skillhub.domain.dto.CourseTreeResponse;
+import com.example.skillhub.domain.dto.CursorPage;
+import com.example.skillhub.domain.dto.PageCursor;
+import com.example.skillhub.enums.CourseFacet;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface CourseService {
     Course createCourse(Course course);
-    Course partialUpdate(Long id, Course course);
+    Course partialUpdate(Long id, Course course, Long expectedVersion);
     Optional<Course> getCourseById(Long id);
     List<Course> getAllCourses();
+    CursorPage<CourseResponse> getCoursePage(PageCursor after, int limit);
     void deleteCourse(Long id);
+    CourseTreeResponse getCourseTree(Long id);
+    CourseFacetResponse getCourseFacets(Map<CourseFacet, Set<String>> selection, Long afterId, int limit);
     // Authorization method
     boolean isUserAuthorized(Long courseId, Author author);
 }
@@ -1,6 +1,12 @@
 package com.example.skillhub.services;
 
+import com.example.skillhub.domain.Course;
 import com.example.skillhub.domain.CourseUser;
+import com.example.skillhub.domain.dto.BulkEnrollmentResponse;
+import com.example.skillhub.domain.dto.CourseUserResponse;
+import com.example.skillhub.domain.dto.CursorPage;
+import com.example.skillhub.domain.dto.PageCursor;
+import com.example.skillhub.enums.UserRoleInCourse;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,8 +15,11 @@ public interface CourseUserService {
     CourseUser createCourseUser(CourseUser courseUser);
     CourseUser partialUpdate(Long id, CourseUser courseUser);
     Optional<CourseUser> getCourseUserById(Long id);
+    Optional<CourseUser> getCourseUserWithCourse(Long id);
     List<CourseUser> getAllCourseUsers();
     void deleteCourseUser(Long id);
+    BulkEnrollmentResponse enrollAll(Course course, List<String> emails, UserRoleInCourse role);
 
     List<CourseUser> findByCourseId(Long courseId);
+    CursorPage<CourseUserResponse> findPageByCourseId(Long courseId, PageCursor after, int limit);
 }
@@ -5,12 +5,13 @@ import com.example.skillhub.domain.CustomUserDetails;
 import com.example.skillhub.repositories.AuthorRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final AuthorRepository authorRepository;
 
@@ -26,4 +27,13 @@ public class CustomUserDetailsService implements UserDetailsService {
         return new CustomUserDetails(author);
     }
 
+    // Called after a successful login whose stored hash uses a different work factor
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Author author = authorRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("Author not found with email: " + user.getUsername()));
+        author.setPassword(newPassword);
+        return new CustomUserDetails(authorRepository.save(author));
+    }
+
 }
@@ -1,14 +1,18 @@
 package com.example.skillhub.services;
 
 import com.example.skillhub.domain.Lesson;
+import com.example.skillhub.domain.dto.CursorPage;
+import com.example.skillhub.domain.dto.LessonResponse;
+import com.example.skillhub.domain.dto.PageCursor;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface LessonService {
     Lesson createLesson(Lesson lesson);
-    Lesson partialUpdate(Long id, Lesson lesson);
+    Lesson partialUpdate(Long id, Lesson lesson, Long expectedVersion);
     Optional<Lesson> getLessonById(Long id);
     List<Lesson> getAllLessons();
+    CursorPage<LessonResponse> getLessonPage(PageCursor after, int limit);
     void deleteLesson(Long id);
 }
@@ -0,0 +1,8 @@
+package com.example.skillhub.services;
+
+import com.example.skillhub.domain.dto.ProgressEvent;
+
+public interface ProgressIngestionService {
+    void submit(ProgressEvent event);
+    int pendingEvents();
+}
@@ -1,14 +1,25 @@
 package com.example.skillhub.services;
 
 import com.example.skillhub.domain.Progress;
+import com.example.skillhub.domain.dto.CompletionSummaryResponse;
+import com.example.skillhub.domain.dto.CursorPage;
+import com.example.skillhub.domain.dto.PageCursor;
+import com.example.skillhub.domain.dto.ProgressEvent;
+import com.example.skillhub.domain.dto.ProgressResponse;
+import com.example.skillhub.domain.dto.ProgressUpsert;
+import com.example.skillhub.enums.ProgressStatus;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ProgressService {
-    Progress createProgress(Progress progress);
     Progress partialUpdate(Long id, Progress progress);
     Optional<Progress> getProgressById(Long id);
     List<Progress> getAllProgresses();
+    CursorPage<ProgressResponse> getProgressPage(PageCursor after, int limit);
+    CompletionSummaryResponse getCompletionSummary(Long courseId, Long userId);
     void deleteProgress(Long id);
+    int recordProgress(Collection<ProgressEvent> events);
+    ProgressUpsert upsertProgress(Long userId, Long courseId, Long lessonId, Long sectionId, ProgressStatus status);
 }
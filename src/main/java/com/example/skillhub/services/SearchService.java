@@ -0,0 +1,21 @@
+package com.example.skillhub.services;
+
+import com.example.skillhub.domain.Course;
+import com.example.skillhub.domain.Lesson;
+import com.example.skillhub.domain.Section;
+import com.example.skillhub.domain.dto.SearchHitResponse;
+import com.example.skillhub.enums.SearchDocumentType;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface SearchService {
+    List<SearchHitResponse> search(String query, SearchDocumentType type, int limit);
+    void indexCourse(Course course);
+    void removeCourse(Long id);
+    void indexLesson(Lesson lesson);
+    void indexSection(Section section);
+    void removeSection(Long id);
+    void removeAll(SearchDocumentType type, Collection<Long> ids);
+    void rebuild();
+}
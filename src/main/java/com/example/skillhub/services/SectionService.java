@@ -1,14 +1,18 @@
 package com.example.skillhub.services;
 
 import com.example.skillhub.domain.Section;
+import com.example.skillhub.domain.dto.CursorPage;
+import com.example.skillhub.domain.dto.PageCursor;
+import com.example.skillhub.domain.dto.SectionResponse;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface SectionService {
     Section createSection(Section section);
-    Section partialUpdate(Long id, Section section);
+    Section partialUpdate(Long id, Section section, Long expectedVersion);
     Optional<Section> getSectionById(Long id);
     List<Section> getAllSections();
+    CursorPage<SectionResponse> getSectionPage(PageCursor after, int limit);
     void deleteSection(Long id);
 }
@@ -0,0 +1,104 @@
+package com.example.skillhub.services;
+
+import com.example.skillhub.config.TokenAuthenticationConverter;
+import com.example.skillhub.config.TokenKeyRing;
+import com.example.skillhub.domain.Author;
+import com.example.skillhub.exceptions.LoginCapacityExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.*;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+@Service
+@ConditionalOnProperty(name = "security.auth.mode", havingValue = "token")
+public class TokenService {
+
+    private static final String ISSUER = "skillhub";
+
+    private final JwtEncoder jwtEncoder;
+    private final TokenKeyRing keyRing;
+    private final Duration ttl;
+    private final long revocationMaximumSize;
+    // Revoked token ids until the token's own expiry; never evicted for size, which would make a revoked token valid again
+    private final Cache<String, Instant> revoked;
+
+    @Autowired
+    public TokenService(JwtEncoder jwtEncoder,
+                        TokenKeyRing keyRing,
+                        @Value("${security.token.ttl:1h}") Duration ttl,
+                        @Value("${security.token.revocation.maximum-size:0}") long revocationMaximumSize) {
+        this.jwtEncoder = jwtEncoder;
+        this.keyRing = keyRing;
+        this.ttl = ttl;
+        this.revocationMaximumSize = revocationMaximumSize;
+        this.revoked = Caffeine.newBuilder()
+                .expireAfter(new UntilTokenExpires())
+                .build();
+    }
+
+    private static final class UntilTokenExpires implements Expiry<String, Instant> {
+        @Override
+        public long expireAfterCreate(String tokenId, Instant expiresAt, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+            return expireAfterCreate(tokenId, expiresAt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Issues a token for the author. With {@code security.token.revocation.maximum-size}
+     * set, logins are turned away while that many revoked tokens are still live, as
+     * the alternative would be to forget a revocation.
+     */
+    public Jwt issue(Author author) {
+        if (revocationMaximumSize > 0 && revoked.estimatedSize() >= revocationMaximumSize) {
+            revoked.cleanUp();
+            if (revoked.estimatedSize() >= revocationMaximumSize) {
+                throw new LoginCapacityExceededException("Too many revoked tokens outstanding, please retry later");
+            }
+        }
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(ISSUER)
+                .id(UUID.randomUUID().toString())
+                .subject(author.getEmail())
+                .issuedAt(now)
+                .expiresAt(now.plus(ttl))
+                .claim(TokenAuthenticationConverter.AUTHOR_ID_CLAIM, author.getId())
+                .claim(TokenAuthenticationConverter.NAME_CLAIM, author.getName())
+                .claim(TokenAuthenticationConverter.ROLE_CLAIM, author.getRole())
+                .build();
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256)
+                .keyId(keyRing.currentKeyId())
+                .build();
+        return jwtEncoder.encode(JwtEncoderParameters.from(header, claims));
+    }
+
+    public void revoke(Jwt jwt) {
+        Instant expiresAt = jwt.getExpiresAt() != null ? jwt.getExpiresAt() : Instant.now().plus(ttl);
+        if (jwt.getId() != null && expiresAt.isAfter(Instant.now())) {
+            revoked.put(jwt.getId(), expiresAt);
+        }
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revoked.getIfPresent(tokenId) != null;
+    }
+}
@@ -4,9 +4,9 @@ import com.example.skillhub.domain.Author;
 import com.example.skillhub.exceptions.ResourceNotFoundException;
 import com.example.skillhub.repositories.AuthorRepository;
 import com.example.skillhub.services.AuthorService;
-import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 import java.util.List;
@@ -46,11 +46,13 @@ public class AuthorServiceImpl implements AuthorService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Author> getAuthorById(Long id) {
         return authorRepository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Author> getAllAuthors() {
         return authorRepository.findAll();
     }
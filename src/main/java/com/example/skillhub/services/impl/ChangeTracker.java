@@ -0,0 +1,30 @@
+package com.example.skillhub.services.impl;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Applies the non-null fields of a partial update to a loaded entity and records
+ * whether any of them differed, so that resending the current state writes
+ * nothing and triggers no reindexing.
+ */
+final class ChangeTracker {
+
+    private boolean changed;
+
+    <T> void set(T value, Supplier<T> current, Consumer<T> setter) {
+        if (value != null && !value.equals(current.get())) {
+            setter.accept(value);
+            changed = true;
+        }
+    }
+
+    // For a change the caller compared itself, such as an association matched by id
+    void mark() {
+        changed = true;
+    }
+
+    boolean changed() {
+        return changed;
+    }
+}
@@ -0,0 +1,289 @@
+package com.example.skillhub.services.impl;
+
+import com.example.skillhub.domain.Lesson;
+import com.example.skillhub.domain.Section;
+import com.example.skillhub.domain.dto.CourseDeletionStatus;
+import com.example.skillhub.enums.CourseDeletionState;
+import com.example.skillhub.enums.SearchDocumentType;
+import com.example.skillhub.exceptions.ResourceNotFoundException;
+import com.example.skillhub.repositories.*;
+import com.example.skillhub.services.ContentDeletionService;
+import com.example.skillhub.services.SearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Deletes a course, lesson or section together with everything that references
+ * it, using a bulk statement per table instead of loading and removing each row:
+ * progress, sections, lessons, course members, completion summaries, then the
+ * course. Bulk statements bypass the persistence context, so Hibernate evicts the
+ * second-level cache regions of every table they touch.
+ * <p>
+ * A course can instead be deleted by a background job that works through the same
+ * tables in chunks of {@code course.deletion.chunk-size} rows, one transaction
+ * each, so no statement holds locks on a large course for long. The course row
+ * goes last, so a failed job leaves a smaller but consistent course that can be
+ * deleted again. Finished jobs are kept for {@code course.deletion.job-retention}.
+ */
+@Service
+public class ContentDeletionServiceImpl implements ContentDeletionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentDeletionServiceImpl.class);
+
+    private final CourseRepository courseRepository;
+    private final LessonRepository lessonRepository;
+    private final SectionRepository sectionRepository;
+    private final CourseUserRepository courseUserRepository;
+    private final ProgressRepository progressRepository;
+    private final CourseCompletionRepository courseCompletionRepository;
+    private final CourseAuthorizationCache authorizationCache;
+    private final SearchService searchService;
+    private final CourseFacetIndex facetIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final int chunkSize;
+    private final Duration jobRetention;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ContentDeletionServiceImpl(CourseRepository courseRepository,
+                                      LessonRepository lessonRepository,
+                                      SectionRepository sectionRepository,
+                                      CourseUserRepository courseUserRepository,
+                                      ProgressRepository progressRepository,
+                                      CourseCompletionRepository courseCompletionRepository,
+                                      CourseAuthorizationCache authorizationCache,
+                                      SearchService searchService,
+                                      CourseFacetIndex facetIndex,
+                                      TransactionTemplate transactionTemplate,
+                                      @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                      @Value("${course.deletion.chunk-size:1000}") int chunkSize,
+                                      @Value("${course.deletion.job-retention:1h}") Duration jobRetention) {
+        this.courseRepository = courseRepository;
+        this.lessonRepository = lessonRepository;
+        this.sectionRepository = sectionRepository;
+        this.courseUserRepository = courseUserRepository;
+        this.progressRepository = progressRepository;
+        this.courseCompletionRepository = courseCompletionRepository;
+        this.authorizationCache = authorizationCache;
+        this.searchService = searchService;
+        this.facetIndex = facetIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+        this.chunkSize = chunkSize;
+        this.jobRetention = jobRetention;
+    }
+
+    @Override
+    @Transactional
+    public void deleteCourse(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course not found with id " + courseId);
+        }
+        deleteCourseTree(courseId);
+    }
+
+    private void deleteCourseTree(Long courseId) {
+        List<Long> lessonIds = lessonRepository.findIdsByCourseId(courseId, Limit.unlimited());
+        List<Long> sectionIds = lessonIds.isEmpty() ? List.of() : sectionRepository.findIdsByLessonIdIn(lessonIds);
+        progressRepository.deleteByCourseId(courseId);
+        sectionRepository.deleteByCourseId(courseId);
+        lessonRepository.deleteByCourseId(courseId);
+        courseUserRepository.deleteByCourseId(courseId);
+        courseCompletionRepository.deleteByCourseId(courseId);
+        courseRepository.deleteCourseById(courseId);
+
+        authorizationCache.invalidateCourse(courseId);
+        facetIndex.remove(courseId);
+        searchService.removeCourse(courseId);
+        searchService.removeAll(SearchDocumentType.LESSON, lessonIds);
+        searchService.removeAll(SearchDocumentType.SECTION, sectionIds);
+    }
+
+    @Override
+    @Transactional
+    public void deleteLesson(Long lessonId) {
+        Lesson lesson = lessonRepository.findById(lessonId)
+                .orElseThrow(() -> new ResourceNotFoundException("Lesson not found with id " + lessonId));
+        List<Long> lessonIds = List.of(lessonId);
+        List<Long> sectionIds = sectionRepository.findIdsByLessonIdIn(lessonIds);
+        int progressDeleted = progressRepository.deleteByLessonIdIn(lessonIds);
+        sectionRepository.deleteByLessonIdIn(lessonIds);
+        lessonRepository.deleteByIdIn(lessonIds);
+        if (progressDeleted > 0 && lesson.getCourse() != null) {
+            courseCompletionRepository.recountByCourseId(lesson.getCourse().getId(), new Date());
+        }
+
+        searchService.removeAll(SearchDocumentType.LESSON, lessonIds);
+        searchService.removeAll(SearchDocumentType.SECTION, sectionIds);
+    }
+
+    @Override
+    @Transactional
+    public void deleteSection(Long sectionId) {
+        Section section = sectionRepository.findById(sectionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Section not found with id " + sectionId));
+        List<Long> sectionIds = List.of(sectionId);
+        int progressDeleted = progressRepository.deleteBySectionIdIn(sectionIds);
+        sectionRepository.deleteByIdIn(sectionIds);
+        if (progressDeleted > 0 && section.getLesson().getCourse() != null) {
+            courseCompletionRepository.recountByCourseId(section.getLesson().getCourse().getId(), new Date());
+        }
+
+        searchService.removeSection(sectionId);
+    }
+
+    @Override
+    public CourseDeletionStatus startCourseDeletion(Long courseId, Long requestedBy) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course not found with id " + courseId);
+        }
+        pruneFinishedJobs();
+        Job job;
+        synchronized (jobs) {
+            // A second request for the same course joins the job already running
+            Optional<Job> running = jobs.values().stream()
+                    .filter(existing -> existing.courseId.equals(courseId) && !existing.isFinished())
+                    .findFirst();
+            if (running.isPresent()) {
+                return running.get().snapshot();
+            }
+            job = new Job(courseId, requestedBy);
+            jobs.put(job.id, job);
+        }
+        taskExecutor.execute(() -> run(job));
+        return job.snapshot();
+    }
+
+    @Override
+    public Optional<CourseDeletionStatus> getCourseDeletion(String jobId, Long requestedBy) {
+        pruneFinishedJobs();
+        return Optional.ofNullable(jobs.get(jobId))
+                .filter(job -> job.requestedBy.equals(requestedBy))
+                .map(Job::snapshot);
+    }
+
+    private void run(Job job) {
+        Long courseId = job.courseId;
+        try {
+            job.enter(CourseDeletionState.DELETING_PROGRESS);
+            deleteInChunks(job, () -> progressRepository.findIdsByCourseId(courseId, Limit.of(chunkSize)),
+                    progressRepository::deleteByIdIn);
+
+            // Each chunk also removes rows that were added below it after the previous step passed
+            job.enter(CourseDeletionState.DELETING_SECTIONS);
+            deleteInChunks(job, () -> sectionRepository.findIdsByCourseId(courseId, Limit.of(chunkSize)), sectionIds -> {
+                progressRepository.deleteBySectionIdIn(sectionIds);
+                searchService.removeAll(SearchDocumentType.SECTION, sectionIds);
+                return sectionRepository.deleteByIdIn(sectionIds);
+            });
+
+            job.enter(CourseDeletionState.DELETING_LESSONS);
+            deleteInChunks(job, () -> lessonRepository.findIdsByCourseId(courseId, Limit.of(chunkSize)), lessonIds -> {
+                progressRepository.deleteByLessonIdIn(lessonIds);
+                searchService.removeAll(SearchDocumentType.SECTION, sectionRepository.findIdsByLessonIdIn(lessonIds));
+                sectionRepository.deleteByLessonIdIn(lessonIds);
+                searchService.removeAll(SearchDocumentType.LESSON, lessonIds);
+                return lessonRepository.deleteByIdIn(lessonIds);
+            });
+
+            job.enter(CourseDeletionState.DELETING_MEMBERS);
+            deleteInChunks(job, () -> courseUserRepository.findIdsByCourseId(courseId, Limit.of(chunkSize)),
+                    courseUserRepository::deleteByIdIn);
+
+            // What is left is small; this also catches rows added while the job ran
+            transactionTemplate.executeWithoutResult(status -> deleteCourseTree(courseId));
+            job.finish(null);
+        } catch (RuntimeException e) {
+            log.warn("Deleting course {} failed in {}", courseId, job.snapshot().getState(), e);
+            job.finish(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    private void deleteInChunks(Job job, Supplier<List<Long>> nextIds, Function<List<Long>, Integer> delete) {
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = nextIds.get();
+                return ids.isEmpty() ? null : delete.apply(ids);
+            });
+            if (deleted == null) {
+                return;
+            }
+            job.deleted(deleted);
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        long cutoff = System.currentTimeMillis() - jobRetention.toMillis();
+        jobs.values().removeIf(job -> job.finishedBefore(cutoff));
+    }
+
+    private static final class Job {
+        private final String id = UUID.randomUUID().toString();
+        private final Long courseId;
+        private final Long requestedBy;
+        private final Date startedAt = new Date();
+        private CourseDeletionState state = CourseDeletionState.QUEUED;
+        private long progressDeleted;
+        private long sectionsDeleted;
+        private long lessonsDeleted;
+        private long membersDeleted;
+        private Date finishedAt;
+        private String error;
+
+        private Job(Long courseId, Long requestedBy) {
+            this.courseId = courseId;
+            this.requestedBy = requestedBy;
+        }
+
+        synchronized void enter(CourseDeletionState next) {
+            state = next;
+        }
+
+        // Counts towards the table of the current step
+        synchronized void deleted(long rows) {
+            switch (state) {
+                case DELETING_PROGRESS -> progressDeleted += rows;
+                case DELETING_SECTIONS -> sectionsDeleted += rows;
+                case DELETING_LESSONS -> lessonsDeleted += rows;
+                case DELETING_MEMBERS -> membersDeleted += rows;
+                default -> {
+                }
+            }
+        }
+
+        synchronized void finish(String failure) {
+            state = failure == null ? CourseDeletionState.COMPLETED : CourseDeletionState.FAILED;
+            error = failure;
+            finishedAt = new Date();
+        }
+
+        synchronized boolean isFinished() {
+            return finishedAt != null;
+        }
+
+        synchronized boolean finishedBefore(long cutoff) {
+            return finishedAt != null && finishedAt.getTime() < cutoff;
+        }
+
+        synchronized CourseDeletionStatus snapshot() {
+            return new CourseDeletionStatus(id, courseId, state, progressDeleted, sectionsDeleted, lessonsDeleted,
+                    membersDeleted, startedAt, finishedAt, error);
+        }
+    }
+}
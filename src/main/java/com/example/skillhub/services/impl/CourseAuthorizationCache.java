@@ -0,0 +1,77 @@
+package com.example.skillhub.services.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of {@code CourseServiceImpl.isUserAuthorized} per
+ * (course, author) pair. Entries expire on their own; membership and ownership
+ * changes invalidate them explicitly after commit.
+ */
+@Component
+public class CourseAuthorizationCache {
+
+    private record Key(Long courseId, Long authorId) {
+    }
+
+    private final Cache<Key, Boolean> decisions;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public CourseAuthorizationCache(@Value("${authorization.cache.maximum-size:100000}") long maximumSize,
+                                    @Value("${authorization.cache.expire-after-write:5m}") Duration expireAfterWrite,
+                                    MeterRegistry meterRegistry) {
+        this.decisions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, decisions, "courseAuthorization");
+    }
+
+    /**
+     * Returns the cached decision or computes it. A {@code null} from the loader
+     * means the course does not exist; that answer is treated as "not authorized"
+     * but not cached, so a course created later under the same id is not shadowed.
+     * <p>
+     * The loader runs outside the cache's own locking: Caffeine computes inside
+     * {@code ConcurrentHashMap.compute}, and a query there would pin a virtual
+     * thread to its carrier. Concurrent misses may each load; a decision loaded
+     * while an invalidation ran is returned but not cached.
+     */
+    public boolean isAuthorized(Long courseId, Long authorId, Supplier<Boolean> loader) {
+        Key key = new Key(courseId, authorId);
+        Boolean decision = decisions.getIfPresent(key);
+        if (decision == null) {
+            long seen = invalidations.get();
+            decision = loader.get();
+            if (decision != null && invalidations.get() == seen) {
+                decisions.put(key, decision);
+            }
+        }
+        return Boolean.TRUE.equals(decision);
+    }
+
+    public void invalidate(Long courseId, Long authorId) {
+        TransactionCallbacks.afterCommit(() -> {
+            invalidations.incrementAndGet();
+            decisions.invalidate(new Key(courseId, authorId));
+        });
+    }
+
+    public void invalidateCourse(Long courseId) {
+        TransactionCallbacks.afterCommit(() -> {
+            invalidations.incrementAndGet();
+            decisions.asMap().keySet().removeIf(key -> key.courseId().equals(courseId));
+        });
+    }
+}
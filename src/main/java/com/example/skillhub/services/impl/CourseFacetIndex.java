@@ -0,0 +1,174 @@
+package com.example.skillhub.services.impl;
+
+import com.example.skillhub.domain.Course;
+import com.example.skillhub.enums.CourseFacet;
+import com.example.skillhub.repositories.CourseRepository;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One compressed bitmap of course ids per facet value, so filtering and counting
+ * the catalog are bitmap intersections instead of table scans. Loaded once at
+ * startup and kept current by CourseServiceImpl after each commit.
+ * <p>
+ * Course ids are stored as ints; the catalog is nowhere near 2^31 courses.
+ */
+@Component
+public class CourseFacetIndex {
+
+    record Result(int total, Map<CourseFacet, Map<String, Integer>> counts, List<Long> ids, boolean hasMore) {
+    }
+
+    private static final CourseFacet[] FACETS = CourseFacet.values();
+
+    private final CourseRepository courseRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final Map<CourseFacet, Map<String, RoaringBitmap>> bitmaps = new EnumMap<>(CourseFacet.class);
+    // Current values per course, indexed by facet ordinal, so an update can clear the old bits
+    private final Map<Integer, String[]> valuesByCourse = new HashMap<>();
+
+    @Autowired
+    public CourseFacetIndex(CourseRepository courseRepository) {
+        this.courseRepository = courseRepository;
+        for (CourseFacet facet : FACETS) {
+            bitmaps.put(facet, new HashMap<>());
+        }
+    }
+
+    // Holds the write lock while reading so commits made meanwhile are applied on top
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            for (Object[] row : courseRepository.findFacetValues()) {
+                String[] values = new String[FACETS.length];
+                for (int i = 0; i < FACETS.length; i++) {
+                    values[i] = row[i + 1] != null ? row[i + 1].toString() : null;
+                }
+                set(Math.toIntExact((Long) row[0]), values);
+            }
+            all.runOptimize();
+            bitmaps.values().forEach(byValue -> byValue.values().forEach(RoaringBitmap::runOptimize));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Course course) {
+        int id = Math.toIntExact(course.getId());
+        String[] values = {
+                course.getCategory(),
+                course.getLevel(),
+                course.getRating() != null ? course.getRating().name() : null,
+                course.getStatus()
+        };
+        TransactionCallbacks.afterCommit(() -> write(() -> set(id, values)));
+    }
+
+    public void remove(Long courseId) {
+        int id = Math.toIntExact(courseId);
+        TransactionCallbacks.afterCommit(() -> write(() -> clear(id)));
+    }
+
+    /**
+     * Values within a facet are OR-ed, facets are AND-ed. Each facet's counts are
+     * taken under every other facet's selection but not its own.
+     */
+    Result query(Map<CourseFacet, ? extends Collection<String>> selection, Long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<CourseFacet, RoaringBitmap> selected = new EnumMap<>(CourseFacet.class);
+            selection.forEach((facet, values) -> {
+                Map<String, RoaringBitmap> byValue = bitmaps.get(facet);
+                selected.put(facet, FastAggregation.or(values.stream()
+                        .map(byValue::get)
+                        .filter(Objects::nonNull)
+                        .iterator()));
+            });
+
+            RoaringBitmap matching = intersect(selected, null);
+            Map<CourseFacet, Map<String, Integer>> counts = new EnumMap<>(CourseFacet.class);
+            for (CourseFacet facet : FACETS) {
+                RoaringBitmap base = selected.containsKey(facet) ? intersect(selected, facet) : matching;
+                Map<String, Integer> facetCounts = new TreeMap<>();
+                bitmaps.get(facet).forEach((value, bitmap) -> {
+                    int count = RoaringBitmap.andCardinality(base, bitmap);
+                    if (count > 0) {
+                        facetCounts.put(value, count);
+                    }
+                });
+                counts.put(facet, facetCounts);
+            }
+
+            List<Long> ids = new ArrayList<>(limit);
+            PeekableIntIterator iterator = matching.getIntIterator();
+            if (afterId != null) {
+                iterator.advanceIfNeeded(Math.toIntExact(afterId) + 1);
+            }
+            while (iterator.hasNext() && ids.size() < limit) {
+                ids.add((long) iterator.next());
+            }
+            return new Result(matching.getCardinality(), counts, ids, iterator.hasNext());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap intersect(Map<CourseFacet, RoaringBitmap> selected, CourseFacet skip) {
+        RoaringBitmap result = all.clone();
+        selected.forEach((facet, bitmap) -> {
+            if (facet != skip) {
+                result.and(bitmap);
+            }
+        });
+        return result;
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void set(int id, String[] values) {
+        clear(id);
+        all.add(id);
+        for (int i = 0; i < FACETS.length; i++) {
+            if (values[i] != null) {
+                bitmaps.get(FACETS[i]).computeIfAbsent(values[i], value -> new RoaringBitmap()).add(id);
+            }
+        }
+        valuesByCourse.put(id, values);
+    }
+
+    private void clear(int id) {
+        String[] values = valuesByCourse.remove(id);
+        all.remove(id);
+        if (values == null) {
+            return;
+        }
+        for (int i = 0; i < FACETS.length; i++) {
+            if (values[i] == null) {
+                continue;
+            }
+            Map<String, RoaringBitmap> byValue = bitmaps.get(FACETS[i]);
+            RoaringBitmap bitmap = byValue.get(values[i]);
+            bitmap.remove(id);
+            if (bitmap.isEmpty()) {
+                byValue.remove(values[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.example.skillhub.services.impl;
+
+import com.example.skillhub.domain.Author;
+import com.example.skillhub.domain.Course;
+import com.example.skillhub.domain.CourseUser;
+import com.example.skillhub.domain.Lesson;
+import com.example.skillhub.domain.Section;
+import com.example.skillhub.domain.dto.CourseImportProgress;
+import com.example.skillhub.domain.dto.CourseImportRow;
+import com.example.skillhub.enums.ImportRowType;
+import com.example.skillhub.enums.Status;
+import com.example.skillhub.enums.UserRoleInCourse;
+import com.example.skillhub.exceptions.BadRequestException;
+import com.example.skillhub.repositories.CourseRepository;
+import com.example.skillhub.repositories.CourseUserRepository;
+import com.example.skillhub.repositories.LessonRepository;
+import com.example.skillhub.repositories.SectionRepository;
+import com.example.skillhub.services.CourseImportService;
+import com.example.skillhub.services.SearchService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Imports a course tree streamed as NDJSON or CSV rows. Rows are read as they
+ * arrive and written in chunks of {@code import.chunk-size}, one transaction
+ * each, so memory stays flat however large the body is and the inserts go out
+ * as JDBC batches. Only the refs of imported courses and lessons are kept
+ * across chunks, so later rows can name them as parents.
+ * <p>
+ * A row that fails to parse or validate is reported and skipped, and so are
+ * rows below it whose parent never got imported. If a chunk fails to commit,
+ * all of its rows are reported.
+ */
+@Service
+public class CourseImportServiceImpl implements CourseImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseImportServiceImpl.class);
+
+    private final CourseRepository courseRepository;
+    private final LessonRepository lessonRepository;
+    private final SectionRepository sectionRepository;
+    private final CourseUserRepository courseUserRepository;
+    private final SearchService searchService;
+    private final CourseFacetIndex facetIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+
+    @Autowired
+    public CourseImportServiceImpl(CourseRepository courseRepository,
+                                   LessonRepository lessonRepository,
+                                   SectionRepository sectionRepository,
+                                   CourseUserRepository courseUserRepository,
+                                   SearchService searchService,
+                                   CourseFacetIndex facetIndex,
+                                   TransactionTemplate transactionTemplate,
+                                   ObjectMapper objectMapper,
+                                   Validator validator,
+                                   @Value("${import.chunk-size:500}") int chunkSize) {
+        this.courseRepository = courseRepository;
+        this.lessonRepository = lessonRepository;
+        this.sectionRepository = sectionRepository;
+        this.courseUserRepository = courseUserRepository;
+        this.searchService = searchService;
+        this.facetIndex = facetIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public CourseImportProgress importCourses(InputStream body, MediaType format, Author owner,
+                                              Consumer<CourseImportProgress> progress) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        RowSource rows;
+        if (CSV.isCompatibleWith(format)) {
+            rows = csvRows(new CsvRecordReader(reader));
+        } else if (NDJSON.isCompatibleWith(format)) {
+            rows = ndjsonRows(reader);
+        } else {
+            throw new BadRequestException("Unsupported import format " + format);
+        }
+
+        ImportState state = new ImportState();
+        List<ParsedRow> chunk = new ArrayList<>(chunkSize);
+        ParsedRow row;
+        while ((row = rows.next()) != null) {
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                progress.accept(importChunk(chunk, owner, state, false));
+                chunk.clear();
+            }
+        }
+        CourseImportProgress last = importChunk(chunk, owner, state, true);
+        progress.accept(last);
+        return last;
+    }
+
+    private CourseImportProgress importChunk(List<ParsedRow> chunk, Author owner, ImportState state, boolean done) {
+        List<CourseImportProgress.RowError> errors = new ArrayList<>();
+        ChunkResult result = new ChunkResult();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Date now = new Date();
+                for (ParsedRow row : chunk) {
+                    String problem = row.error() != null ? row.error() : importRow(row.row(), owner, state, result, now);
+                    if (problem != null) {
+                        errors.add(new CourseImportProgress.RowError(row.number(), row.ref(), problem));
+                    } else {
+                        result.imported.add(row);
+                    }
+                }
+            });
+            state.courseRefs.putAll(result.courseRefs);
+            state.lessonRefs.putAll(result.lessonRefs);
+            state.courses += result.courses;
+            state.lessons += result.lessons;
+            state.sections += result.sections;
+        } catch (RuntimeException e) {
+            String cause = String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            log.warn("Import chunk of {} rows rolled back: {}", chunk.size(), cause);
+            for (ParsedRow row : result.imported) {
+                errors.add(new CourseImportProgress.RowError(row.number(), row.ref(), "Rolled back with its chunk: " + cause));
+            }
+            errors.sort(Comparator.comparingLong(CourseImportProgress.RowError::getRow));
+        }
+        state.rowsRead += chunk.size();
+        return new CourseImportProgress(state.rowsRead, state.courses, state.lessons, state.sections, errors, done);
+    }
+
+    /**
+     * Saves one row within the chunk's transaction; returns why it was rejected, or
+     * {@code null}. Ids come from a pooled sequence, so nothing is written until
+     * the chunk flushes.
+     */
+    private String importRow(CourseImportRow row, Author owner, ImportState state, ChunkResult result, Date now) {
+        Set<ConstraintViolation<CourseImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .reduce((a, b) -> a + "; " + b)
+                    .orElseThrow();
+        }
+        String ref = row.getRef();
+        if (ref != null && (state.courseRefs.containsKey(ref) || state.lessonRefs.containsKey(ref)
+                || result.courseRefs.containsKey(ref) || result.lessonRefs.containsKey(ref))) {
+            return "Duplicate ref '" + ref + "'";
+        }
+        if (row.getType() == ImportRowType.COURSE) {
+            if (row.getParent() != null) {
+                return "A course has no parent";
+            }
+        } else if (row.getParent() == null) {
+            return "A " + row.getType().name().toLowerCase(Locale.ROOT) + " needs a parent";
+        }
+
+        switch (row.getType()) {
+            case COURSE -> {
+                Course course = courseRepository.save(Course.builder()
+                        .title(row.getTitle())
+                        .description(row.getDescription())
+                        .image(row.getImage())
+                        .video(row.getVideo())
+                        .category(row.getCategory())
+                        .duration(row.getDuration())
+                        .price(row.getPrice())
+                        .level(row.getLevel())
+                        .status("active")
+                        .rating(row.getRating())
+                        .createdDate(now)
+                        .lastModifiedDate(now)
+                        .user(owner)
+                        .createdBy(owner.getEmail())
+                        .lastModifiedBy(owner.getEmail())
+                        .build());
+                courseUserRepository.save(CourseUser.builder()
+                        .course(course)
+                        .user(owner)
+                        .role(UserRoleInCourse.AUTHOR)
+                        .status(Status.ACTIVE)
+                        .createdAt(now)
+                        .build());
+                searchService.indexCourse(course);
+                facetIndex.put(course);
+                if (ref != null) {
+                    result.courseRefs.put(ref, course.getId());
+                }
+                result.courses++;
+            }
+            case LESSON -> {
+                Long courseId = parentId(row.getParent(), state.courseRefs, result.courseRefs);
+                if (courseId == null) {
+                    return "Unknown parent course '" + row.getParent() + "'";
+                }
+                Lesson lesson = lessonRepository.save(Lesson.builder()
+                        .course(courseRepository.getReferenceById(courseId))
+                        .title(row.getTitle())
+                        .description(row.getDescription())
+                        .duration(row.getDuration())
+                        .level(row.getLevel())
+                        .status("active")
+                        .rating(row.getRating())
+                        .createdAt(now)
+                        .build());
+                searchService.indexLesson(lesson);
+                if (ref != null) {
+                    result.lessonRefs.put(ref, lesson.getId());
+                }
+                result.lessons++;
+            }
+            case SECTION -> {
+                Long lessonId = parentId(row.getParent(), state.lessonRefs, result.lessonRefs);
+                if (lessonId == null) {
+                    return "Unknown parent lesson '" + row.getParent() + "'";
+                }
+                Section section = sectionRepository.save(Section.builder()
+                        .lesson(lessonRepository.getReferenceById(lessonId))
+                        .title(row.getTitle())
+                        .contentType(row.getContentType())
+                        .contentUrl(row.getContentUrl())
+                        .contentText(row.getContentText())
+                        .createdAt(now)
+                        .build());
+                searchService.indexSection(section);
+                result.sections++;
+            }
+        }
+        return null;
+    }
+
+    private static Long parentId(String parent, Map<String, Long> committed, Map<String, Long> inChunk) {
+        Long id = inChunk.get(parent);
+        return id != null ? id : committed.get(parent);
+    }
+
+    private RowSource ndjsonRows(BufferedReader reader) {
+        long[] number = {0};
+        return () -> {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            number[0]++;
+            try {
+                CourseImportRow row = objectMapper.readValue(line, CourseImportRow.class);
+                return new ParsedRow(number[0], row.getRef(), row, null);
+            } catch (JsonProcessingException e) {
+                return new ParsedRow(number[0], null, null, "Unreadable row: " + e.getOriginalMessage());
+            }
+        };
+    }
+
+    private RowSource csvRows(CsvRecordReader reader) throws IOException {
+        List<String> header = reader.next();
+        if (header == null) {
+            return () -> null;
+        }
+        long[] number = {0};
+        return () -> {
+            List<String> fields = reader.next();
+            if (fields == null) {
+                return null;
+            }
+            number[0]++;
+            if (fields.size() > header.size()) {
+                return new ParsedRow(number[0], null, null,
+                        "Row has " + fields.size() + " fields but the header names " + header.size());
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                if (!fields.get(i).isEmpty()) {
+                    values.put(header.get(i).trim(), fields.get(i));
+                }
+            }
+            try {
+                CourseImportRow row = objectMapper.convertValue(values, CourseImportRow.class);
+                return new ParsedRow(number[0], row.getRef(), row, null);
+            } catch (IllegalArgumentException e) {
+                String message = e.getCause() instanceof JsonProcessingException cause ? cause.getOriginalMessage() : e.getMessage();
+                return new ParsedRow(number[0], values.get("ref"), null, "Unreadable row: " + message);
+            }
+        };
+    }
+
+    private interface RowSource {
+        ParsedRow next() throws IOException;
+    }
+
+    private record ParsedRow(long number, String ref, CourseImportRow row, String error) {
+    }
+
+    private static class ImportState {
+        final Map<String, Long> courseRefs = new HashMap<>();
+        final Map<String, Long> lessonRefs = new HashMap<>();
+        long rowsRead;
+        long courses;
+        long lessons;
+        long sections;
+    }
+
+    private static class ChunkResult {
+        final Map<String, Long> courseRefs = new HashMap<>();
+        final Map<String, Long> lessonRefs = new HashMap<>();
+        final List<ParsedRow> imported = new ArrayList<>();
+        int courses;
+        int lessons;
+        int sections;
+    }
+}
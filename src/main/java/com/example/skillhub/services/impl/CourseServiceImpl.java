@@ -2,18 +2,28 @@ package com.example.skillhub.services.impl;
 
 import com.example.skillhub.domain.Author;
 import com.example.skillhub.domain.Course;
+import com.example.skillhub.domain.Lesson;
+import com.example.skillhub.domain.dto.CourseFacetResponse;
+import com.example.skillhub.domain.dto.CourseResponse;
+import com.example.skillhub.domain.dto.CourseTreeResponse;
+import com.example.skillhub.domain.dto.CursorPage;
+import com.example.skillhub.domain.dto.PageCursor;
+import com.example.skillhub.enums.CourseFacet;
 import com.example.skillhub.enums.UserRoleInCourse;
+import com.example.skillhub.exceptions.PreconditionFailedException;
 import com.example.skillhub.exceptions.ResourceNotFoundException;
 import com.example.skillhub.repositories.CourseRepository;
 import com.example.skillhub.repositories.CourseUserRepository;
+import com.example.skillhub.repositories.LessonRepository;
+import com.example.skillhub.services.ContentDeletionService;
 import com.example.skillhub.services.CourseService;
-import jakarta.transaction.Transactional;
+import com.example.skillhub.services.SearchService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Date;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 @Transactional
@@ -21,12 +31,27 @@ public class CourseServiceImpl implements CourseService {
 
     private final CourseRepository courseRepository;
     private final CourseUserRepository courseUserRepository;
+    private final LessonRepository lessonRepository;
+    private final CourseAuthorizationCache authorizationCache;
+    private final SearchService searchService;
+    private final CourseFacetIndex facetIndex;
+    private final ContentDeletionService contentDeletionService;
 
     @Autowired
     public CourseServiceImpl(CourseRepository courseRepository,
-                             CourseUserRepository courseUserRepository) {
+                             CourseUserRepository courseUserRepository,
+                             LessonRepository lessonRepository,
+                             CourseAuthorizationCache authorizationCache,
+                             SearchService searchService,
+                             CourseFacetIndex facetIndex,
+                             ContentDeletionService contentDeletionService) {
         this.courseRepository = courseRepository;
         this.courseUserRepository = courseUserRepository;
+        this.lessonRepository = lessonRepository;
+        this.authorizationCache = authorizationCache;
+        this.searchService = searchService;
+        this.facetIndex = facetIndex;
+        this.contentDeletionService = contentDeletionService;
     }
 
     @Override
@@ -34,63 +59,153 @@ public class CourseServiceImpl implements CourseService {
         course.setCreatedDate(new Date());
         course.setLastModifiedDate(new Date());
         course.setStatus("active"); // default status
-        return courseRepository.save(course);
+        Course savedCourse = courseRepository.save(course);
+        searchService.indexCourse(savedCourse);
+        facetIndex.put(savedCourse);
+        return savedCourse;
     }
 
     @Override
-    public Course partialUpdate(Long id, Course courseDetails) {
+    public Course partialUpdate(Long id, Course courseDetails, Long expectedVersion) {
         return courseRepository.findById(id).map(existingCourse -> {
-            Optional.ofNullable(courseDetails.getTitle()).ifPresent(existingCourse::setTitle);
-            Optional.ofNullable(courseDetails.getDescription()).ifPresent(existingCourse::setDescription);
-            Optional.ofNullable(courseDetails.getImage()).ifPresent(existingCourse::setImage);
-            Optional.ofNullable(courseDetails.getVideo()).ifPresent(existingCourse::setVideo);
-            Optional.ofNullable(courseDetails.getCategory()).ifPresent(existingCourse::setCategory);
-            Optional.ofNullable(courseDetails.getDuration()).ifPresent(existingCourse::setDuration);
-            Optional.ofNullable(courseDetails.getPrice()).ifPresent(existingCourse::setPrice);
-            Optional.ofNullable(courseDetails.getLevel()).ifPresent(existingCourse::setLevel);
-            Optional.ofNullable(courseDetails.getStatus()).ifPresent(existingCourse::setStatus);
-            Optional.ofNullable(courseDetails.getRating()).ifPresent(existingCourse::setRating);
+            if (expectedVersion != null && !expectedVersion.equals(existingCourse.getVersion())) {
+                throw new PreconditionFailedException("Course " + id + " is at version " + existingCourse.getVersion() + ", not " + expectedVersion);
+            }
+            ChangeTracker changes = new ChangeTracker();
+            changes.set(courseDetails.getTitle(), existingCourse::getTitle, existingCourse::setTitle);
+            changes.set(courseDetails.getDescription(), existingCourse::getDescription, existingCourse::setDescription);
+            changes.set(courseDetails.getImage(), existingCourse::getImage, existingCourse::setImage);
+            changes.set(courseDetails.getVideo(), existingCourse::getVideo, existingCourse::setVideo);
+            changes.set(courseDetails.getCategory(), existingCourse::getCategory, existingCourse::setCategory);
+            changes.set(courseDetails.getDuration(), existingCourse::getDuration, existingCourse::setDuration);
+            changes.set(courseDetails.getPrice(), existingCourse::getPrice, existingCourse::setPrice);
+            changes.set(courseDetails.getLevel(), existingCourse::getLevel, existingCourse::setLevel);
+            changes.set(courseDetails.getStatus(), existingCourse::getStatus, existingCourse::setStatus);
+            changes.set(courseDetails.getRating(), existingCourse::getRating, existingCourse::setRating);
+            Optional.ofNullable(courseDetails.getUser())
+                    .filter(user -> !user.getId().equals(existingCourse.getUser().getId()))
+                    .ifPresent(user -> {
+                        // Ownership moves, so every cached decision for this course may be wrong
+                        authorizationCache.invalidateCourse(id);
+                        existingCourse.setUser(user);
+                        changes.mark();
+                    });
+            changes.set(courseDetails.getCreatedBy(), existingCourse::getCreatedBy, existingCourse::setCreatedBy);
+            if (!changes.changed()) {
+                return existingCourse;
+            }
+            // Stamped only on a real change, so the version, ETag and indexes stay put for a no-op
             Optional.ofNullable(courseDetails.getLastModifiedBy()).ifPresent(existingCourse::setLastModifiedBy);
             existingCourse.setLastModifiedDate(new Date());
-            Optional.ofNullable(courseDetails.getUser()).ifPresent(existingCourse::setUser);
-            Optional.ofNullable(courseDetails.getCreatedBy()).ifPresent(existingCourse::setCreatedBy);
-            return courseRepository.save(existingCourse);
+            Course savedCourse = courseRepository.save(existingCourse);
+            searchService.indexCourse(savedCourse);
+            facetIndex.put(savedCourse);
+            return savedCourse;
         }).orElseThrow(() -> new ResourceNotFoundException("Course not found with id " + id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Course> getCourseById(Long id) {
         return courseRepository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Course> getAllCourses() {
         return courseRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CourseResponse> getCoursePage(PageCursor after, int limit) {
+        List<CourseResponse> rows = after == null
+                ? courseRepository.findPage(Limit.of(limit + 1))
+                : courseRepository.findPageAfter(after.createdAt(), after.id(), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, course -> new PageCursor(course.getCreatedDate(), course.getId()));
+    }
+
     @Override
     public void deleteCourse(Long id) {
+        contentDeletionService.deleteCourse(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CourseFacetResponse getCourseFacets(Map<CourseFacet, Set<String>> selection, Long afterId, int limit) {
+        CourseFacetIndex.Result result = facetIndex.query(selection, afterId, limit);
+        List<CourseResponse> items = result.ids().isEmpty() ? List.of() : courseRepository.findResponsesByIdIn(result.ids());
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        result.counts().forEach((facet, counts) -> facets.put(facet.name().toLowerCase(Locale.ROOT), counts));
+        Long next = result.hasMore() ? result.ids().get(result.ids().size() - 1) : null;
+        return new CourseFacetResponse(result.total(), facets, items, next);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CourseTreeResponse getCourseTree(Long id) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id " + id));
-        courseRepository.delete(course);
+        // Each lesson's course is the instance loaded above, so this is the only other query
+        List<CourseTreeResponse.LessonNode> lessons = lessonRepository.findWithSectionsByCourseId(id).stream()
+                .map(this::toLessonNode)
+                .toList();
+        return new CourseTreeResponse(
+                course.getId(),
+                course.getTitle(),
+                course.getDescription(),
+                course.getCategory(),
+                course.getLevel(),
+                course.getStatus(),
+                course.getRating(),
+                course.getLastModifiedDate(),
+                lessons
+        );
+    }
+
+    private CourseTreeResponse.LessonNode toLessonNode(Lesson lesson) {
+        List<CourseTreeResponse.SectionNode> sections = lesson.getSections().stream()
+                .map(section -> new CourseTreeResponse.SectionNode(
+                        section.getId(),
+                        section.getTitle(),
+                        section.getContentType(),
+                        section.getContentUrl(),
+                        section.getContentText()))
+                .toList();
+        return new CourseTreeResponse.LessonNode(
+                lesson.getId(),
+                lesson.getTitle(),
+                lesson.getDescription(),
+                lesson.getDuration(),
+                lesson.getLevel(),
+                lesson.getStatus(),
+                lesson.getRating(),
+                sections
+        );
     }
 
     @Override
     public boolean isUserAuthorized(Long courseId, Author author) {
+        return authorizationCache.isAuthorized(courseId, author.getId(),
+                () -> loadAuthorization(courseId, author.getId()));
+    }
+
+    // Returns null when the course does not exist so that the answer is not cached
+    private Boolean loadAuthorization(Long courseId, Long authorId) {
         // Check if the user is the owner
         Optional<Course> courseOpt = courseRepository.findById(courseId);
         if (courseOpt.isEmpty()) {
-            return false;
+            return null;
         }
         Course course = courseOpt.get();
-        if (course.getUser().getId().equals(author.getId())) {
+        if (course.getUser().getId().equals(authorId)) {
             return true;
         }
 
         // Check if the user is a collaborator
         return courseUserRepository.existsByCourseIdAndUserIdAndRole(
                 courseId,
-                author.getId(),
+                authorId,
                 UserRoleInCourse.COLLABORATOR
         );
     }
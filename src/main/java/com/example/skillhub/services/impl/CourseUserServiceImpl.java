@@ -1,53 +1,79 @@
 package com.example.skillhub.services.impl;
 
+import com.example.skillhub.domain.Course;
 import com.example.skillhub.domain.CourseUser;
+import com.example.skillhub.domain.dto.BulkEnrollmentResponse;
+import com.example.skillhub.domain.dto.CourseUserResponse;
+import com.example.skillhub.domain.dto.CursorPage;
+import com.example.skillhub.domain.dto.PageCursor;
+import com.example.skillhub.enums.EnrollmentOutcome;
 import com.example.skillhub.enums.Status;
+import com.example.skillhub.enums.UserRoleInCourse;
 import com.example.skillhub.exceptions.ResourceNotFoundException;
+import com.example.skillhub.repositories.AuthorRepository;
 import com.example.skillhub.repositories.CourseUserRepository;
 import com.example.skillhub.services.CourseUserService;
-import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Date;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 @Transactional
 public class CourseUserServiceImpl implements CourseUserService {
     private final CourseUserRepository courseUserRepository;
+    private final AuthorRepository authorRepository;
+    private final CourseAuthorizationCache authorizationCache;
 
     @Autowired
-    public CourseUserServiceImpl(CourseUserRepository courseUserRepository) {
+    public CourseUserServiceImpl(CourseUserRepository courseUserRepository,
+                                 AuthorRepository authorRepository,
+                                 CourseAuthorizationCache authorizationCache) {
         this.courseUserRepository = courseUserRepository;
+        this.authorRepository = authorRepository;
+        this.authorizationCache = authorizationCache;
     }
 
     @Override
     public CourseUser createCourseUser(CourseUser courseUser) {
         courseUser.setCreatedAt(new Date());
         courseUser.setStatus(Status.ACTIVE);
-        return courseUserRepository.save(courseUser);
+        CourseUser savedCourseUser = courseUserRepository.save(courseUser);
+        invalidateAuthorization(savedCourseUser);
+        return savedCourseUser;
     }
 
     @Override
     public CourseUser partialUpdate(Long id, CourseUser courseUserDetails) {
         return courseUserRepository.findById(id).map(existingCourseUser -> {
+            // Both the old and the new (course, user) pair may change their decision
+            invalidateAuthorization(existingCourseUser);
             Optional.ofNullable(courseUserDetails.getCourse()).ifPresent(existingCourseUser::setCourse);
             Optional.ofNullable(courseUserDetails.getUser()).ifPresent(existingCourseUser::setUser);
             Optional.ofNullable(courseUserDetails.getRole()).ifPresent(existingCourseUser::setRole);
             Optional.ofNullable(courseUserDetails.getStatus()).ifPresent(existingCourseUser::setStatus);
             // Optionally update createdAt if needed
+            invalidateAuthorization(existingCourseUser);
             return courseUserRepository.save(existingCourseUser);
         }).orElseThrow(() -> new ResourceNotFoundException("CourseUser not found with id " + id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<CourseUser> getCourseUserById(Long id) {
         return courseUserRepository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Optional<CourseUser> getCourseUserWithCourse(Long id) {
+        return courseUserRepository.findWithCourseById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<CourseUser> getAllCourseUsers() {
         return courseUserRepository.findAll();
     }
@@ -57,10 +83,87 @@ public class CourseUserServiceImpl implements CourseUserService {
         CourseUser courseUser = courseUserRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("CourseUser not found with id " + id));
         courseUserRepository.delete(courseUser);
+        invalidateAuthorization(courseUser);
     }
 
+    /**
+     * Resolves every email with one query and finds existing members with another,
+     * then inserts the new memberships as JDBC batches. Users who already hold any
+     * role in the course are left as they are.
+     */
     @Override
+    public BulkEnrollmentResponse enrollAll(Course course, List<String> emails, UserRoleInCourse role) {
+        Set<String> distinct = new LinkedHashSet<>();
+        emails.forEach(email -> distinct.add(email.trim()));
+        Map<String, Long> userIds = new HashMap<>();
+        for (AuthorRepository.IdAndEmail author : authorRepository.findByEmailIn(distinct)) {
+            userIds.put(author.getEmail(), author.getId());
+        }
+        Set<Long> members = userIds.isEmpty() ? Set.of()
+                : new HashSet<>(courseUserRepository.findMemberIds(course.getId(), userIds.values()));
+
+        Date now = new Date();
+        Map<Long, CourseUser> created = new LinkedHashMap<>();
+        for (Long userId : userIds.values()) {
+            if (!members.contains(userId)) {
+                created.put(userId, CourseUser.builder()
+                        .course(course)
+                        .user(authorRepository.getReferenceById(userId))
+                        .role(role != null ? role : UserRoleInCourse.STUDENT)
+                        .status(Status.ACTIVE)
+                        .createdAt(now)
+                        .build());
+            }
+        }
+        courseUserRepository.saveAll(created.values());
+        if (!created.isEmpty()) {
+            authorizationCache.invalidateCourse(course.getId());
+        }
+
+        List<BulkEnrollmentResponse.Result> results = new ArrayList<>(emails.size());
+        Set<String> seen = new HashSet<>();
+        int enrolled = 0, alreadyMembers = 0, notFound = 0;
+        for (String email : emails) {
+            String key = email.trim();
+            Long userId = userIds.get(key);
+            EnrollmentOutcome outcome;
+            Long courseUserId = null;
+            if (!seen.add(key)) {
+                outcome = EnrollmentOutcome.DUPLICATE;
+            } else if (userId == null) {
+                outcome = EnrollmentOutcome.NOT_FOUND;
+                notFound++;
+            } else if (members.contains(userId)) {
+                outcome = EnrollmentOutcome.ALREADY_MEMBER;
+                alreadyMembers++;
+            } else {
+                outcome = EnrollmentOutcome.ENROLLED;
+                courseUserId = created.get(userId).getId();
+                enrolled++;
+            }
+            results.add(new BulkEnrollmentResponse.Result(email, outcome, userId, courseUserId));
+        }
+        return new BulkEnrollmentResponse(course.getId(), enrolled, alreadyMembers, notFound, results);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<CourseUser> findByCourseId(Long courseId) {
         return courseUserRepository.findByCourseId(courseId);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CourseUserResponse> findPageByCourseId(Long courseId, PageCursor after, int limit) {
+        List<CourseUserResponse> rows = after == null
+                ? courseUserRepository.findPageByCourseId(courseId, Limit.of(limit + 1))
+                : courseUserRepository.findPageByCourseIdAfter(courseId, after.createdAt(), after.id(), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, courseUser -> new PageCursor(courseUser.getCreatedAt(), courseUser.getId()));
+    }
+
+    private void invalidateAuthorization(CourseUser courseUser) {
+        if (courseUser.getCourse() != null && courseUser.getUser() != null) {
+            authorizationCache.invalidate(courseUser.getCourse().getId(), courseUser.getUser().getId());
+        }
+    }
 }
@@ -0,0 +1,233 @@
+package com.example.skillhub.services.impl;
+
+import com.example.skillhub.enums.SearchDocumentType;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Term-to-document postings with BM25 scoring. Title terms count twice so a
+ * title match outranks the same word buried in a description. Prefix terms are
+ * expanded through the sorted term dictionary.
+ * <p>
+ * Not thread-safe; {@link SearchServiceImpl} guards it with a read-write lock.
+ */
+final class InvertedIndex {
+
+    record DocKey(SearchDocumentType type, long id) {
+    }
+
+    record Hit(DocKey key, Long parentId, String title, double score) {
+    }
+
+    record QueryTerm(String text, boolean prefix) {
+    }
+
+    private record Document(DocKey key, Long parentId, String title, Map<String, Integer> terms, int length) {
+    }
+
+    private static final int SNAPSHOT_MAGIC = 0x534b4958;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<DocKey, Integer> docIds = new HashMap<>();
+    private final List<Document> documents = new ArrayList<>();
+    private final Deque<Integer> freeDocIds = new ArrayDeque<>();
+    private final NavigableMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+    private long totalLength;
+
+    void put(DocKey key, Long parentId, String title, String... bodies) {
+        remove(key);
+        Map<String, Integer> terms = new HashMap<>();
+        int length = 0;
+        for (String token : tokenize(title)) {
+            terms.merge(token, 2, Integer::sum);
+            length += 2;
+        }
+        for (String body : bodies) {
+            for (String token : tokenize(body)) {
+                terms.merge(token, 1, Integer::sum);
+                length++;
+            }
+        }
+        add(new Document(key, parentId, title, terms, length));
+    }
+
+    void remove(DocKey key) {
+        Integer docId = docIds.remove(key);
+        if (docId == null) {
+            return;
+        }
+        Document document = documents.get(docId);
+        for (String term : document.terms().keySet()) {
+            Map<Integer, Integer> docs = postings.get(term);
+            docs.remove(docId);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= document.length();
+        documents.set(docId, null);
+        freeDocIds.push(docId);
+    }
+
+    int size() {
+        return docIds.size();
+    }
+
+    List<Hit> search(List<QueryTerm> query, SearchDocumentType type, int limit) {
+        if (query.isEmpty() || docIds.isEmpty()) {
+            return List.of();
+        }
+        int documentCount = docIds.size();
+        double averageLength = (double) totalLength / documentCount;
+        Map<Integer, Double> scores = new HashMap<>();
+        for (QueryTerm term : query) {
+            // A prefix counts once per document, with its best-scoring expansion
+            Map<Integer, Double> best = new HashMap<>();
+            for (Map.Entry<String, Map<Integer, Integer>> entry : matchingTerms(term)) {
+                Map<Integer, Integer> docs = entry.getValue();
+                double idf = Math.log(1 + (documentCount - docs.size() + 0.5) / (docs.size() + 0.5));
+                for (Map.Entry<Integer, Integer> posting : docs.entrySet()) {
+                    Document document = documents.get(posting.getKey());
+                    if (type != null && document.key().type() != type) {
+                        continue;
+                    }
+                    int tf = posting.getValue();
+                    double score = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * document.length() / averageLength));
+                    best.merge(posting.getKey(), score, Math::max);
+                }
+            }
+            best.forEach((docId, score) -> scores.merge(docId, score, Double::sum));
+        }
+
+        PriorityQueue<Map.Entry<Integer, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Hit> hits = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            Map.Entry<Integer, Double> entry = top.poll();
+            Document document = documents.get(entry.getKey());
+            hits.add(new Hit(document.key(), document.parentId(), document.title(), entry.getValue()));
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    private Collection<Map.Entry<String, Map<Integer, Integer>>> matchingTerms(QueryTerm term) {
+        if (!term.prefix()) {
+            Map<Integer, Integer> docs = postings.get(term.text());
+            return docs == null ? List.of() : List.of(Map.entry(term.text(), docs));
+        }
+        List<Map.Entry<String, Map<Integer, Integer>>> expansions = new ArrayList<>();
+        for (Map.Entry<String, Map<Integer, Integer>> entry
+                : postings.subMap(term.text(), true, term.text() + Character.MAX_VALUE, false).entrySet()) {
+            expansions.add(entry);
+            if (expansions.size() == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+        }
+        return expansions;
+    }
+
+    /**
+     * Words ending in {@code *} are prefix queries; everything else must match a whole term.
+     */
+    static List<QueryTerm> parseQuery(String query) {
+        List<QueryTerm> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        for (String word : query.trim().split("\\s+")) {
+            List<String> tokens = tokenize(word);
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean prefix = i == tokens.size() - 1 && word.endsWith("*");
+                terms.add(new QueryTerm(tokens.get(i), prefix));
+            }
+        }
+        return terms;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeInt(docIds.size());
+        for (Document document : documents) {
+            if (document == null) {
+                continue;
+            }
+            out.writeByte(document.key().type().ordinal());
+            out.writeLong(document.key().id());
+            out.writeBoolean(document.parentId() != null);
+            if (document.parentId() != null) {
+                out.writeLong(document.parentId());
+            }
+            out.writeUTF(document.title() != null ? document.title() : "");
+            out.writeInt(document.length());
+            out.writeInt(document.terms().size());
+            for (Map.Entry<String, Integer> term : document.terms().entrySet()) {
+                out.writeUTF(term.getKey());
+                out.writeInt(term.getValue());
+            }
+        }
+    }
+
+    static InvertedIndex readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+            throw new IOException("Unrecognized search index snapshot");
+        }
+        InvertedIndex index = new InvertedIndex();
+        SearchDocumentType[] types = SearchDocumentType.values();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            DocKey key = new DocKey(types[in.readByte()], in.readLong());
+            Long parentId = in.readBoolean() ? in.readLong() : null;
+            String title = in.readUTF();
+            int length = in.readInt();
+            int termCount = in.readInt();
+            Map<String, Integer> terms = new HashMap<>(termCount * 2);
+            for (int t = 0; t < termCount; t++) {
+                terms.put(in.readUTF(), in.readInt());
+            }
+            index.add(new Document(key, parentId, title, terms, length));
+        }
+        return index;
+    }
+
+    private void add(Document document) {
+        int docId;
+        if (freeDocIds.isEmpty()) {
+            docId = documents.size();
+            documents.add(document);
+        } else {
+            docId = freeDocIds.pop();
+            documents.set(docId, document);
+        }
+        docIds.put(document.key(), docId);
+        for (Map.Entry<String, Integer> term : document.terms().entrySet()) {
+            postings.computeIfAbsent(term.getKey(), t -> new HashMap<>()).put(docId, term.getValue());
+        }
+        totalLength += document.length();
+    }
+}
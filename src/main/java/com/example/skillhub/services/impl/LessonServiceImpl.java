@@ -1,12 +1,19 @@
 package com.example.skillhub.services.impl;
 
 import com.example.skillhub.domain.Lesson;
+import com.example.skillhub.domain.dto.CursorPage;
+import com.example.skillhub.domain.dto.LessonResponse;
+import com.example.skillhub.domain.dto.PageCursor;
+import com.example.skillhub.exceptions.PreconditionFailedException;
 import com.example.skillhub.exceptions.ResourceNotFoundException;
 import com.example.skillhub.repositories.LessonRepository;
+import com.example.skillhub.services.ContentDeletionService;
 import com.example.skillhub.services.LessonService;
-import jakarta.transaction.Transactional;
+import com.example.skillhub.services.SearchService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 import java.util.List;
@@ -16,48 +23,78 @@ import java.util.Optional;
 @Transactional
 public class LessonServiceImpl implements LessonService {
     private final LessonRepository lessonRepository;
+    private final SearchService searchService;
+    private final ContentDeletionService contentDeletionService;
 
     @Autowired
-    public LessonServiceImpl(LessonRepository lessonRepository) {
+    public LessonServiceImpl(LessonRepository lessonRepository,
+                             SearchService searchService,
+                             ContentDeletionService contentDeletionService) {
         this.lessonRepository = lessonRepository;
+        this.searchService = searchService;
+        this.contentDeletionService = contentDeletionService;
     }
 
     @Override
     public Lesson createLesson(Lesson lesson) {
         lesson.setCreatedAt(new Date());
         lesson.setStatus("active"); // default status
-        return lessonRepository.save(lesson);
+        Lesson savedLesson = lessonRepository.save(lesson);
+        searchService.indexLesson(savedLesson);
+        return savedLesson;
     }
 
     @Override
-    public Lesson partialUpdate(Long id, Lesson lessonDetails) {
+    public Lesson partialUpdate(Long id, Lesson lessonDetails, Long expectedVersion) {
         return lessonRepository.findById(id).map(existingLesson -> {
-            Optional.ofNullable(lessonDetails.getCourse()).ifPresent(existingLesson::setCourse);
-            Optional.ofNullable(lessonDetails.getTitle()).ifPresent(existingLesson::setTitle);
-            Optional.ofNullable(lessonDetails.getDescription()).ifPresent(existingLesson::setDescription);
-            Optional.ofNullable(lessonDetails.getDuration()).ifPresent(existingLesson::setDuration);
-            Optional.ofNullable(lessonDetails.getLevel()).ifPresent(existingLesson::setLevel);
-            Optional.ofNullable(lessonDetails.getStatus()).ifPresent(existingLesson::setStatus);
-            Optional.ofNullable(lessonDetails.getRating()).ifPresent(existingLesson::setRating);
-            // Update createdAt if needed
-            return lessonRepository.save(existingLesson);
+            if (expectedVersion != null && !expectedVersion.equals(existingLesson.getVersion())) {
+                throw new PreconditionFailedException("Lesson " + id + " is at version " + existingLesson.getVersion() + ", not " + expectedVersion);
+            }
+            ChangeTracker changes = new ChangeTracker();
+            Optional.ofNullable(lessonDetails.getCourse())
+                    .filter(course -> existingLesson.getCourse() == null || !course.getId().equals(existingLesson.getCourse().getId()))
+                    .ifPresent(course -> {
+                        existingLesson.setCourse(course);
+                        changes.mark();
+                    });
+            changes.set(lessonDetails.getTitle(), existingLesson::getTitle, existingLesson::setTitle);
+            changes.set(lessonDetails.getDescription(), existingLesson::getDescription, existingLesson::setDescription);
+            changes.set(lessonDetails.getDuration(), existingLesson::getDuration, existingLesson::setDuration);
+            changes.set(lessonDetails.getLevel(), existingLesson::getLevel, existingLesson::setLevel);
+            changes.set(lessonDetails.getStatus(), existingLesson::getStatus, existingLesson::setStatus);
+            changes.set(lessonDetails.getRating(), existingLesson::getRating, existingLesson::setRating);
+            if (!changes.changed()) {
+                return existingLesson;
+            }
+            Lesson savedLesson = lessonRepository.save(existingLesson);
+            searchService.indexLesson(savedLesson);
+            return savedLesson;
         }).orElseThrow(() -> new ResourceNotFoundException("Lesson not found with id " + id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Lesson> getLessonById(Long id) {
         return lessonRepository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Lesson> getAllLessons() {
         return lessonRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<LessonResponse> getLessonPage(PageCursor after, int limit) {
+        List<LessonResponse> rows = after == null
+                ? lessonRepository.findPage(Limit.of(limit + 1))
+                : lessonRepository.findPageAfter(after.createdAt(), after.id(), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, lesson -> new PageCursor(lesson.getCreatedAt(), lesson.getId()));
+    }
+
     @Override
     public void deleteLesson(Long id) {
-        Lesson lesson = lessonRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Lesson not found with id " + id));
-        lessonRepository.delete(lesson);
+        contentDeletionService.deleteLesson(id);
     }
 }
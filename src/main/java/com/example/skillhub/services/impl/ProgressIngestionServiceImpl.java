@@ -0,0 +1,268 @@
+package com.example.skillhub.services.impl;
+
+import com.example.skillhub.domain.dto.ProgressEvent;
+import com.example.skillhub.exceptions.IngestionCapacityExceededException;
+import com.example.skillhub.services.ProgressIngestionService;
+import com.example.skillhub.services.ProgressService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffers progress events in memory and writes them in batches through
+ * {@link ProgressService#recordProgress}. Events for a (user, section) already
+ * waiting are replaced by the newer one, so a player reporting the same section
+ * many times costs one write per flush.
+ * <p>
+ * A flush runs once {@code progress.ingest.batch-size} distinct pairs are waiting
+ * or every {@code progress.ingest.flush-interval}. When {@code queue-capacity}
+ * pairs are waiting, submitters block for up to {@code max-wait} and are then
+ * turned away with a 503. A failed batch is put back and retried. On shutdown
+ * everything still waiting is flushed after the web server has stopped taking
+ * requests and before the data source closes.
+ * <p>
+ * Waiting uses a {@link ReentrantLock} rather than {@code synchronized}, which
+ * would pin a virtual thread blocked on a full queue to its carrier.
+ */
+@Service
+public class ProgressIngestionServiceImpl implements ProgressIngestionService, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgressIngestionServiceImpl.class);
+
+    private record Key(Long userId, Long sectionId) {
+    }
+
+    private final ProgressService progressService;
+    private final int capacity;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration maxWait;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchReady = lock.newCondition();
+    private final Condition spaceFreed = lock.newCondition();
+    private final LinkedHashMap<Key, ProgressEvent> pending = new LinkedHashMap<>();
+    private volatile boolean running;
+    private Thread flusher;
+
+    private final Counter accepted;
+    private final Counter coalesced;
+    private final Counter rejected;
+    private final Counter skipped;
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizes;
+
+    @Autowired
+    public ProgressIngestionServiceImpl(ProgressService progressService,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${progress.ingest.queue-capacity:10000}") int capacity,
+                                        @Value("${progress.ingest.batch-size:500}") int batchSize,
+                                        @Value("${progress.ingest.flush-interval:1s}") Duration flushInterval,
+                                        @Value("${progress.ingest.max-wait:100ms}") Duration maxWait) {
+        this.progressService = progressService;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.maxWait = maxWait;
+
+        Gauge.builder("progress.ingest.queue.depth", this, ProgressIngestionServiceImpl::pendingEvents)
+                .description("Distinct (user, section) progress events waiting to be written")
+                .register(meterRegistry);
+        this.accepted = events(meterRegistry, "accepted");
+        this.coalesced = events(meterRegistry, "coalesced");
+        this.rejected = events(meterRegistry, "rejected");
+        this.skipped = events(meterRegistry, "skipped");
+        this.flushTimer = Timer.builder("progress.ingest.flush")
+                .description("Time to write one batch of progress events")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("progress.ingest.batch.size")
+                .description("Progress events written per batch")
+                .register(meterRegistry);
+    }
+
+    private static Counter events(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("progress.ingest.events")
+                .description("Progress events by outcome: queued, merged into a waiting event, "
+                        + "turned away while the queue was full, or skipped at write time as invalid")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void submit(ProgressEvent event) {
+        Key key = new Key(event.userId(), event.sectionId());
+        long remaining = maxWait.toNanos();
+        lock.lock();
+        try {
+            while (true) {
+                if (!running) {
+                    rejected.increment();
+                    throw new IngestionCapacityExceededException("Progress ingestion is not running, please retry shortly");
+                }
+                if (pending.replace(key, event) != null) {
+                    coalesced.increment();
+                    return;
+                }
+                if (pending.size() < capacity) {
+                    pending.put(key, event);
+                    accepted.increment();
+                    if (pending.size() >= batchSize) {
+                        batchReady.signal();
+                    }
+                    return;
+                }
+                if (remaining <= 0) {
+                    rejected.increment();
+                    throw new IngestionCapacityExceededException("Too many pending progress events, please retry shortly");
+                }
+                try {
+                    remaining = spaceFreed.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    rejected.increment();
+                    throw new IngestionCapacityExceededException("Progress submission interrupted");
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int pendingEvents() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("progress-ingest-");
+        threadFactory.setDaemon(true);
+        flusher = threadFactory.newThread(this::flushLoop);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        lock.lock();
+        try {
+            running = false;
+            batchReady.signalAll();
+            spaceFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            if (flusher != null) {
+                flusher.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Drain on the stopping thread; a batch that still fails here is lost, so say how much
+        while (pendingEvents() > 0) {
+            if (!flushBatch()) {
+                log.error("Dropping {} progress events that could not be written on shutdown", pendingEvents());
+                break;
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stops after the web server (which stops in higher phases) so no request can submit behind the final flush
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void flushLoop() {
+        while (running) {
+            lock.lock();
+            try {
+                if (running && pending.size() < batchSize) {
+                    batchReady.await(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            if (!flushBatch()) {
+                // Leave the database a moment before retrying the same events
+                try {
+                    Thread.sleep(flushInterval.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes up to one batch of the oldest waiting events. On failure they are put
+     * back unless a newer event for the same pair arrived meanwhile.
+     */
+    private boolean flushBatch() {
+        List<ProgressEvent> batch = new ArrayList<>(batchSize);
+        lock.lock();
+        try {
+            Iterator<ProgressEvent> it = pending.values().iterator();
+            while (it.hasNext() && batch.size() < batchSize) {
+                batch.add(it.next());
+                it.remove();
+            }
+            spaceFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (batch.isEmpty()) {
+            return true;
+        }
+        try {
+            int applied = flushTimer.recordCallable(() -> progressService.recordProgress(batch));
+            batchSizes.record(batch.size());
+            skipped.increment(batch.size() - applied);
+            return true;
+        } catch (Exception e) {
+            log.warn("Writing {} progress events failed, will retry: {}", batch.size(), e.getMessage());
+            lock.lock();
+            try {
+                for (ProgressEvent event : batch) {
+                    pending.putIfAbsent(new Key(event.userId(), event.sectionId()), event);
+                }
+            } finally {
+                lock.unlock();
+            }
+            return false;
+        }
+    }
+}
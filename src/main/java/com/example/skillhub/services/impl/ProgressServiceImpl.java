@@ -1,65 +1,353 @@
 package com.example.skillhub.services.impl;
 
+import com.example.skillhub.domain.CourseCompletion;
 import com.example.skillhub.domain.Progress;
+import com.example.skillhub.domain.dto.CompletionSummaryResponse;
+import com.example.skillhub.domain.dto.CursorPage;
+import com.example.skillhub.domain.dto.PageCursor;
+import com.example.skillhub.domain.dto.ProgressEvent;
+import com.example.skillhub.domain.dto.ProgressResponse;
+import com.example.skillhub.domain.dto.ProgressUpsert;
 import com.example.skillhub.enums.ProgressStatus;
+import com.example.skillhub.exceptions.BadRequestException;
 import com.example.skillhub.exceptions.ResourceNotFoundException;
+import com.example.skillhub.repositories.AuthorRepository;
+import com.example.skillhub.repositories.CourseCompletionRepository;
+import com.example.skillhub.repositories.CourseRepository;
+import com.example.skillhub.repositories.LessonRepository;
 import com.example.skillhub.repositories.ProgressRepository;
+import com.example.skillhub.repositories.SectionRepository;
 import com.example.skillhub.services.ProgressService;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Date;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 @Transactional
 public class ProgressServiceImpl implements ProgressService {
+    // Standard MERGE (H2); new rows draw one value from the entity's pooled sequence, which no Hibernate block can include
+    private static final String MERGE_UPSERT = """
+            MERGE INTO progress t
+            USING (VALUES (CAST(:userId AS BIGINT), CAST(:courseId AS BIGINT), CAST(:lessonId AS BIGINT),
+                           CAST(:sectionId AS BIGINT), CAST(:status AS VARCHAR(255)), CAST(:createdAt AS TIMESTAMP)))
+                  AS s (user_id, course_id, lesson_id, section_id, status, created_at)
+            ON t.user_id = s.user_id AND t.section_id = s.section_id
+            WHEN MATCHED THEN UPDATE SET status = s.status
+            WHEN NOT MATCHED THEN INSERT (id, user_id, course_id, lesson_id, section_id, status, created_at)
+                VALUES (NEXT VALUE FOR progress_seq, s.user_id, s.course_id, s.lesson_id, s.section_id, s.status, s.created_at)
+            """;
+    private static final String ON_CONFLICT_UPSERT = """
+            INSERT INTO progress (id, user_id, course_id, lesson_id, section_id, status, created_at)
+            VALUES (nextval('progress_seq'), :userId, :courseId, :lessonId, :sectionId, :status, :createdAt)
+            ON CONFLICT (user_id, section_id) DO UPDATE SET status = EXCLUDED.status
+            """;
+    // Counts of one (user, course) in the progress table, as the row a missing completion summary starts from
+    private static final String COMPLETION_COUNTS = """
+            SELECT CAST(:userId AS BIGINT) AS user_id, CAST(:courseId AS BIGINT) AS course_id,
+                   COALESCE(SUM(CASE WHEN status = 'NOT_STARTED' THEN 1 ELSE 0 END), 0) AS not_started_count,
+                   COALESCE(SUM(CASE WHEN status = 'INCOMPLETE' THEN 1 ELSE 0 END), 0) AS incomplete_count,
+                   COALESCE(SUM(CASE WHEN status = 'COMPLETED' THEN 1 ELSE 0 END), 0) AS completed_count,
+                   CAST(:updatedAt AS TIMESTAMP) AS updated_at
+            FROM progress WHERE user_id = :userId AND course_id = :courseId
+            """;
+    private static final String MERGE_INSERT_COMPLETION = """
+            MERGE INTO course_completion t
+            USING (%s) AS s
+            ON t.user_id = s.user_id AND t.course_id = s.course_id
+            WHEN NOT MATCHED THEN INSERT (user_id, course_id, not_started_count, incomplete_count, completed_count, updated_at)
+                VALUES (s.user_id, s.course_id, s.not_started_count, s.incomplete_count, s.completed_count, s.updated_at)
+            """.formatted(COMPLETION_COUNTS);
+    private static final String ON_CONFLICT_INSERT_COMPLETION = """
+            INSERT INTO course_completion (user_id, course_id, not_started_count, incomplete_count, completed_count, updated_at)
+            %s
+            ON CONFLICT (user_id, course_id) DO NOTHING
+            """.formatted(COMPLETION_COUNTS);
+
     private final ProgressRepository progressRepository;
+    private final CourseCompletionRepository courseCompletionRepository;
+    private final SectionRepository sectionRepository;
+    private final AuthorRepository authorRepository;
+    private final CourseRepository courseRepository;
+    private final LessonRepository lessonRepository;
+    private final EntityManager entityManager;
+    private final String upsertSql;
+    private final String insertCompletionSql;
 
     @Autowired
-    public ProgressServiceImpl(ProgressRepository progressRepository) {
+    public ProgressServiceImpl(ProgressRepository progressRepository,
+                               CourseCompletionRepository courseCompletionRepository,
+                               SectionRepository sectionRepository,
+                               AuthorRepository authorRepository,
+                               CourseRepository courseRepository,
+                               LessonRepository lessonRepository,
+                               EntityManager entityManager,
+                               EntityManagerFactory entityManagerFactory) {
         this.progressRepository = progressRepository;
-    }
-
-    @Override
-    public Progress createProgress(Progress progress) {
-        progress.setCreatedAt(new Date());
-        // Set default status if needed
-        if (progress.getStatus() == null) {
-            progress.setStatus(ProgressStatus.NOT_STARTED); // Assuming NOT_STARTED is a value
-        }
-        return progressRepository.save(progress);
+        this.courseCompletionRepository = courseCompletionRepository;
+        this.sectionRepository = sectionRepository;
+        this.authorRepository = authorRepository;
+        this.courseRepository = courseRepository;
+        this.lessonRepository = lessonRepository;
+        this.entityManager = entityManager;
+        boolean postgres = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+        this.upsertSql = postgres ? ON_CONFLICT_UPSERT : MERGE_UPSERT;
+        this.insertCompletionSql = postgres ? ON_CONFLICT_INSERT_COMPLETION : MERGE_INSERT_COMPLETION;
     }
 
     @Override
     public Progress partialUpdate(Long id, Progress progressDetails) {
         return progressRepository.findById(id).map(existingProgress -> {
+            Long oldUserId = userId(existingProgress);
+            Long oldCourseId = courseId(existingProgress);
+            ProgressStatus oldStatus = existingProgress.getStatus();
             Optional.ofNullable(progressDetails.getUser()).ifPresent(existingProgress::setUser);
             Optional.ofNullable(progressDetails.getCourse()).ifPresent(existingProgress::setCourse);
             Optional.ofNullable(progressDetails.getLesson()).ifPresent(existingProgress::setLesson);
             Optional.ofNullable(progressDetails.getSection()).ifPresent(existingProgress::setSection);
             Optional.ofNullable(progressDetails.getStatus()).ifPresent(existingProgress::setStatus);
             // Update createdAt if needed
-            return progressRepository.save(existingProgress);
+            Progress saved = progressRepository.save(existingProgress);
+            Long newUserId = userId(saved);
+            Long newCourseId = courseId(saved);
+            if (Objects.equals(oldUserId, newUserId) && Objects.equals(oldCourseId, newCourseId)) {
+                adjustCompletion(newUserId, newCourseId, oldStatus, saved.getStatus());
+            } else {
+                adjustCompletion(oldUserId, oldCourseId, oldStatus, null);
+                adjustCompletion(newUserId, newCourseId, null, saved.getStatus());
+            }
+            return saved;
         }).orElseThrow(() -> new ResourceNotFoundException("Progress not found with id " + id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Progress> getProgressById(Long id) {
         return progressRepository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Progress> getAllProgresses() {
         return progressRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ProgressResponse> getProgressPage(PageCursor after, int limit) {
+        List<ProgressResponse> rows = after == null
+                ? progressRepository.findPage(Limit.of(limit + 1))
+                : progressRepository.findPageAfter(after.createdAt(), after.id(), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, progress -> new PageCursor(progress.getCreatedAt(), progress.getId()));
+    }
+
     @Override
     public void deleteProgress(Long id) {
         Progress progress = progressRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Progress not found with id " + id));
         progressRepository.delete(progress);
+        adjustCompletion(userId(progress), courseId(progress), progress.getStatus(), null);
+    }
+
+    /**
+     * Writes a batch of events, at most one per (user, section), in this transaction:
+     * two selects to validate the sections and find the current rows, then batched
+     * inserts and updates, and one completion update per (user, course). Events whose
+     * section does not exist or does not belong to the given lesson and course are
+     * skipped; returns how many were applied.
+     */
+    @Override
+    public int recordProgress(Collection<ProgressEvent> events) {
+        Map<Long, Object[]> hierarchy = new HashMap<>();
+        for (Object[] row : sectionRepository.findHierarchy(events.stream().map(ProgressEvent::sectionId).toList())) {
+            hierarchy.put((Long) row[0], row);
+        }
+        List<ProgressEvent> valid = events.stream()
+                .filter(event -> {
+                    Object[] row = hierarchy.get(event.sectionId());
+                    return row != null && row[1].equals(event.lessonId()) && row[2].equals(event.courseId());
+                })
+                .toList();
+        if (valid.isEmpty()) {
+            return 0;
+        }
+
+        Map<List<Long>, Progress> current = new HashMap<>();
+        for (Progress progress : progressRepository.findByUserIdsAndSectionIds(
+                valid.stream().map(ProgressEvent::userId).distinct().toList(),
+                valid.stream().map(ProgressEvent::sectionId).distinct().toList())) {
+            current.put(List.of(userId(progress), progress.getSection().getId()), progress);
+        }
+
+        Map<List<Long>, int[]> completionDeltas = new HashMap<>();
+        for (ProgressEvent event : valid) {
+            Progress existing = current.get(List.of(event.userId(), event.sectionId()));
+            ProgressStatus removed = null;
+            if (existing == null) {
+                progressRepository.save(Progress.builder()
+                        .user(authorRepository.getReferenceById(event.userId()))
+                        .course(courseRepository.getReferenceById(event.courseId()))
+                        .lesson(lessonRepository.getReferenceById(event.lessonId()))
+                        .section(sectionRepository.getReferenceById(event.sectionId()))
+                        .status(event.status())
+                        .createdAt(event.receivedAt())
+                        .build());
+            } else if (existing.getStatus() != event.status()) {
+                removed = existing.getStatus();
+                // Flushed as a batched update at commit
+                existing.setStatus(event.status());
+            } else {
+                continue;
+            }
+            int[] delta = completionDeltas.computeIfAbsent(List.of(event.userId(), event.courseId()), key -> new int[3]);
+            delta[0] += delta(ProgressStatus.NOT_STARTED, removed, event.status());
+            delta[1] += delta(ProgressStatus.INCOMPLETE, removed, event.status());
+            delta[2] += delta(ProgressStatus.COMPLETED, removed, event.status());
+        }
+        completionDeltas.forEach((key, delta) -> applyCompletion(key.get(0), key.get(1), delta[0], delta[1], delta[2]));
+        return valid.size();
+    }
+
+    /**
+     * Sets the user's status for a section in one statement, inserting the row if it
+     * is missing. Repeating the same call changes nothing. The user's completion
+     * summary for the course is locked before the current status is read, so
+     * concurrent reports for the same course apply one after the other and each
+     * counts against the status the previous one left.
+     */
+    @Override
+    public ProgressUpsert upsertProgress(Long userId, Long courseId, Long lessonId, Long sectionId, ProgressStatus status) {
+        Object[] hierarchy = sectionRepository.findHierarchy(List.of(sectionId)).stream().findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Section not found with id " + sectionId));
+        if (!hierarchy[1].equals(lessonId) || !hierarchy[2].equals(courseId)) {
+            throw new BadRequestException("Section " + sectionId + " does not belong to lesson " + lessonId + " of course " + courseId);
+        }
+
+        lockCompletion(userId, courseId);
+        List<?> previousRows = progressQuery("SELECT status FROM progress WHERE user_id = :userId AND section_id = :sectionId")
+                .setParameter("userId", userId)
+                .setParameter("sectionId", sectionId)
+                .getResultList();
+        ProgressStatus previous = previousRows.isEmpty() ? null : ProgressStatus.valueOf(previousRows.get(0).toString());
+        if (previous != status) {
+            progressQuery(upsertSql)
+                    .setParameter("userId", userId)
+                    .setParameter("courseId", courseId)
+                    .setParameter("lessonId", lessonId)
+                    .setParameter("sectionId", sectionId)
+                    .setParameter("status", status.name())
+                    .setParameter("createdAt", new Date())
+                    .executeUpdate();
+            adjustCompletion(userId, courseId, previous, status);
+        }
+        ProgressResponse progress = progressRepository.findResponse(userId, sectionId).orElseThrow();
+        return new ProgressUpsert(progress, previousRows.isEmpty());
+    }
+
+    // Declares the table the SQL touches, so Hibernate does not evict the whole second-level cache after it
+    private NativeQuery<?> progressQuery(String sql) {
+        return entityManager.createNativeQuery(sql).unwrap(NativeQuery.class).addSynchronizedEntityClass(Progress.class);
+    }
+
+    private NativeQuery<?> completionQuery(String sql) {
+        return entityManager.createNativeQuery(sql).unwrap(NativeQuery.class).addSynchronizedEntityClass(CourseCompletion.class);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CompletionSummaryResponse getCompletionSummary(Long courseId, Long userId) {
+        long totalSections = sectionRepository.countByCourseId(courseId);
+        CourseCompletion completion = courseCompletionRepository.findByUserIdAndCourseId(userId, courseId)
+                .orElseGet(() -> CourseCompletion.builder().userId(userId).courseId(courseId).build());
+        double percent = totalSections == 0 ? 0.0
+                : Math.min(100.0, completion.getCompletedCount() * 100.0 / totalSections);
+        return new CompletionSummaryResponse(
+                userId,
+                courseId,
+                totalSections,
+                completion.getCompletedCount(),
+                completion.getIncompleteCount(),
+                completion.getNotStartedCount(),
+                Math.round(percent * 10) / 10.0,
+                completion.getUpdatedAt()
+        );
+    }
+
+    /**
+     * Moves one record of the (user, course) summary from {@code removed} to {@code added};
+     * either may be null. A missing summary row is created from the progress table, which
+     * already reflects the current write.
+     */
+    private void adjustCompletion(Long userId, Long courseId, ProgressStatus removed, ProgressStatus added) {
+        if (removed == added) {
+            return;
+        }
+        applyCompletion(userId, courseId,
+                delta(ProgressStatus.NOT_STARTED, removed, added),
+                delta(ProgressStatus.INCOMPLETE, removed, added),
+                delta(ProgressStatus.COMPLETED, removed, added));
+    }
+
+    private void applyCompletion(Long userId, Long courseId, int notStarted, int incomplete, int completed) {
+        if (userId == null || courseId == null || (notStarted == 0 && incomplete == 0 && completed == 0)) {
+            return;
+        }
+        Date now = new Date();
+        if (courseCompletionRepository.adjustCounts(userId, courseId, notStarted, incomplete, completed, now) > 0) {
+            return;
+        }
+        // The created row counts this write already; if another transaction created it first, apply the delta to theirs
+        if (insertCompletion(userId, courseId, now) == 0) {
+            courseCompletionRepository.adjustCounts(userId, courseId, notStarted, incomplete, completed, now);
+        }
+    }
+
+    /**
+     * Locks the (user, course) summary row for the rest of the transaction, creating
+     * it from the progress table first if it is missing.
+     */
+    private void lockCompletion(Long userId, Long courseId) {
+        String sql = "SELECT id FROM course_completion WHERE user_id = :userId AND course_id = :courseId FOR UPDATE";
+        if (completionQuery(sql).setParameter("userId", userId).setParameter("courseId", courseId).getResultList().isEmpty()) {
+            insertCompletion(userId, courseId, new Date());
+            // Ours is locked by the insert; one created concurrently must be waited for
+            completionQuery(sql).setParameter("userId", userId).setParameter("courseId", courseId).getResultList();
+        }
+    }
+
+    /**
+     * Creates the (user, course) summary from the progress table unless it exists;
+     * returns the number of rows inserted. On PostgreSQL a concurrent transaction
+     * creating it first makes this wait and insert nothing. H2's MERGE reports that
+     * overlap as a duplicate key instead. The statement flushes pending progress
+     * writes first.
+     */
+    private int insertCompletion(Long userId, Long courseId, Date updatedAt) {
+        return completionQuery(insertCompletionSql)
+                .addSynchronizedEntityClass(Progress.class)
+                .setParameter("userId", userId)
+                .setParameter("courseId", courseId)
+                .setParameter("updatedAt", updatedAt)
+                .executeUpdate();
+    }
+
+    private static int delta(ProgressStatus status, ProgressStatus removed, ProgressStatus added) {
+        return (status == added ? 1 : 0) - (status == removed ? 1 : 0);
+    }
+
+    private static Long userId(Progress progress) {
+        return progress.getUser() != null ? progress.getUser().getId() : null;
+    }
+
+    private static Long courseId(Progress progress) {
+        return progress.getCourse() != null ? progress.getCourse().getId() : null;
     }
 }
@@ -0,0 +1,275 @@
+package com.example.skillhub.services.impl;
+
+import com.example.skillhub.domain.Course;
+import com.example.skillhub.domain.Lesson;
+import com.example.skillhub.domain.Section;
+import com.example.skillhub.domain.dto.CourseResponse;
+import com.example.skillhub.domain.dto.LessonResponse;
+import com.example.skillhub.domain.dto.SearchHitResponse;
+import com.example.skillhub.domain.dto.SectionResponse;
+import com.example.skillhub.enums.SearchDocumentType;
+import com.example.skillhub.repositories.CourseRepository;
+import com.example.skillhub.repositories.LessonRepository;
+import com.example.skillhub.repositories.SectionRepository;
+import com.example.skillhub.services.SearchService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps an {@link InvertedIndex} of the catalog in memory. The service impls report
+ * writes here and the index applies them once the transaction commits.
+ * <p>
+ * On startup a snapshot file, if present, makes search available straight away
+ * while a full rebuild from the database runs in the background. Writes that
+ * commit during the rebuild are replayed onto the new index before it is swapped
+ * in. The snapshot is refreshed after each rebuild and on shutdown.
+ */
+@Service
+public class SearchServiceImpl implements SearchService {
+    private static final Logger log = LoggerFactory.getLogger(SearchServiceImpl.class);
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final CourseRepository courseRepository;
+    private final LessonRepository lessonRepository;
+    private final SectionRepository sectionRepository;
+    private final TaskExecutor taskExecutor;
+    private final Path snapshotPath;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private InvertedIndex index = new InvertedIndex();
+    // Non-null while a rebuild is running; collects the writes it has to replay
+    private List<Consumer<InvertedIndex>> pendingWrites;
+
+    @Autowired
+    public SearchServiceImpl(CourseRepository courseRepository,
+                             LessonRepository lessonRepository,
+                             SectionRepository sectionRepository,
+                             @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                             @Value("${search.index.snapshot-path:}") String snapshotPath) {
+        this.courseRepository = courseRepository;
+        this.lessonRepository = lessonRepository;
+        this.sectionRepository = sectionRepository;
+        this.taskExecutor = taskExecutor;
+        this.snapshotPath = snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        loadSnapshot();
+        taskExecutor.execute(this::rebuild);
+    }
+
+    @PreDestroy
+    public void stop() {
+        writeSnapshot();
+    }
+
+    @Override
+    public List<SearchHitResponse> search(String query, SearchDocumentType type, int limit) {
+        List<InvertedIndex.QueryTerm> terms = InvertedIndex.parseQuery(query);
+        List<InvertedIndex.Hit> hits;
+        lock.readLock().lock();
+        try {
+            hits = index.search(terms, type, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return hits.stream()
+                .map(hit -> new SearchHitResponse(hit.key().type(), hit.key().id(), hit.parentId(), hit.title(), hit.score()))
+                .toList();
+    }
+
+    @Override
+    public void indexCourse(Course course) {
+        Long id = course.getId();
+        String title = course.getTitle();
+        String description = course.getDescription();
+        afterCommit(target -> target.put(key(SearchDocumentType.COURSE, id), null, title, description));
+    }
+
+    @Override
+    public void removeCourse(Long id) {
+        afterCommit(target -> target.remove(key(SearchDocumentType.COURSE, id)));
+    }
+
+    @Override
+    public void indexLesson(Lesson lesson) {
+        Long id = lesson.getId();
+        Long courseId = lesson.getCourse() != null ? lesson.getCourse().getId() : null;
+        String title = lesson.getTitle();
+        String description = lesson.getDescription();
+        afterCommit(target -> target.put(key(SearchDocumentType.LESSON, id), courseId, title, description));
+    }
+
+    @Override
+    public void indexSection(Section section) {
+        Long id = section.getId();
+        Long lessonId = section.getLesson() != null ? section.getLesson().getId() : null;
+        String title = section.getTitle();
+        String contentText = section.getContentText();
+        afterCommit(target -> target.put(key(SearchDocumentType.SECTION, id), lessonId, title, contentText));
+    }
+
+    @Override
+    public void removeSection(Long id) {
+        afterCommit(target -> target.remove(key(SearchDocumentType.SECTION, id)));
+    }
+
+    @Override
+    public void removeAll(SearchDocumentType type, Collection<Long> ids) {
+        List<Long> removed = List.copyOf(ids);
+        afterCommit(target -> removed.forEach(id -> target.remove(key(type, id))));
+    }
+
+    @Override
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pendingWrites != null) {
+                return;
+            }
+            pendingWrites = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        InvertedIndex rebuilt = new InvertedIndex();
+        try {
+            loadCourses(rebuilt);
+            loadLessons(rebuilt);
+            loadSections(rebuilt);
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pendingWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.warn("Search index rebuild failed, keeping the current index", ex);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingWrites.forEach(write -> write.accept(rebuilt));
+            pendingWrites = null;
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search index rebuilt with {} documents", rebuilt.size());
+        writeSnapshot();
+    }
+
+    private void loadCourses(InvertedIndex target) {
+        List<CourseResponse> page = courseRepository.findPage(Limit.of(REBUILD_BATCH_SIZE));
+        while (!page.isEmpty()) {
+            for (CourseResponse course : page) {
+                target.put(key(SearchDocumentType.COURSE, course.getId()), null, course.getTitle(), course.getDescription());
+            }
+            CourseResponse last = page.get(page.size() - 1);
+            page = courseRepository.findPageAfter(last.getCreatedDate(), last.getId(), Limit.of(REBUILD_BATCH_SIZE));
+        }
+    }
+
+    private void loadLessons(InvertedIndex target) {
+        List<LessonResponse> page = lessonRepository.findPage(Limit.of(REBUILD_BATCH_SIZE));
+        while (!page.isEmpty()) {
+            for (LessonResponse lesson : page) {
+                target.put(key(SearchDocumentType.LESSON, lesson.getId()), lesson.getCourseId(), lesson.getTitle(), lesson.getDescription());
+            }
+            LessonResponse last = page.get(page.size() - 1);
+            page = lessonRepository.findPageAfter(last.getCreatedAt(), last.getId(), Limit.of(REBUILD_BATCH_SIZE));
+        }
+    }
+
+    private void loadSections(InvertedIndex target) {
+        List<SectionResponse> page = sectionRepository.findPage(Limit.of(REBUILD_BATCH_SIZE));
+        while (!page.isEmpty()) {
+            for (SectionResponse section : page) {
+                target.put(key(SearchDocumentType.SECTION, section.getId()), section.getLessonId(), section.getTitle(), section.getContentText());
+            }
+            SectionResponse last = page.get(page.size() - 1);
+            page = sectionRepository.findPageAfter(last.getCreatedAt(), last.getId(), Limit.of(REBUILD_BATCH_SIZE));
+        }
+    }
+
+    private void afterCommit(Consumer<InvertedIndex> write) {
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                write.accept(index);
+                if (pendingWrites != null) {
+                    pendingWrites.add(write);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void loadSnapshot() {
+        if (snapshotPath == null || !Files.isReadable(snapshotPath)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(snapshotPath))))) {
+            InvertedIndex loaded = InvertedIndex.readFrom(in);
+            lock.writeLock().lock();
+            try {
+                index = loaded;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Loaded search index snapshot with {} documents from {}", loaded.size(), snapshotPath);
+        } catch (IOException ex) {
+            log.warn("Ignoring unreadable search index snapshot {}", snapshotPath, ex);
+        }
+    }
+
+    private void writeSnapshot() {
+        if (snapshotPath == null) {
+            return;
+        }
+        try {
+            Path directory = snapshotPath.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "search-index", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(temp))))) {
+                lock.readLock().lock();
+                try {
+                    index.writeTo(out);
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            log.warn("Could not write search index snapshot {}", snapshotPath, ex);
+        }
+    }
+
+    private static InvertedIndex.DocKey key(SearchDocumentType type, Long id) {
+        return new InvertedIndex.DocKey(type, id);
+    }
+}
@@ -1,12 +1,22 @@
 package com.example.skillhub.services.impl;
 
+import com.example.skillhub.domain.Lesson;
 import com.example.skillhub.domain.Section;
+import com.example.skillhub.domain.dto.CursorPage;
+import com.example.skillhub.domain.dto.PageCursor;
+import com.example.skillhub.domain.dto.SectionResponse;
+import com.example.skillhub.exceptions.PreconditionFailedException;
 import com.example.skillhub.exceptions.ResourceNotFoundException;
 import com.example.skillhub.repositories.SectionRepository;
+import com.example.skillhub.services.ContentDeletionService;
+import com.example.skillhub.services.SearchService;
 import com.example.skillhub.services.SectionService;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 import java.util.List;
@@ -15,46 +25,96 @@ import java.util.Optional;
 @Service
 @Transactional
 public class SectionServiceImpl implements SectionService {
+    private static final String LESSON_SECTIONS_ROLE = Lesson.class.getName() + ".sections";
+
     private final SectionRepository sectionRepository;
+    private final SessionFactory sessionFactory;
+    private final SearchService searchService;
+    private final ContentDeletionService contentDeletionService;
 
     @Autowired
-    public SectionServiceImpl(SectionRepository sectionRepository) {
+    public SectionServiceImpl(SectionRepository sectionRepository,
+                              EntityManagerFactory entityManagerFactory,
+                              SearchService searchService,
+                              ContentDeletionService contentDeletionService) {
         this.sectionRepository = sectionRepository;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.searchService = searchService;
+        this.contentDeletionService = contentDeletionService;
     }
 
     @Override
     public Section createSection(Section section) {
         section.setCreatedAt(new Date());
-        return sectionRepository.save(section);
+        Section savedSection = sectionRepository.save(section);
+        evictCachedSections(savedSection.getLesson());
+        searchService.indexSection(savedSection);
+        return savedSection;
     }
 
     @Override
-    public Section partialUpdate(Long id, Section sectionDetails) {
+    public Section partialUpdate(Long id, Section sectionDetails, Long expectedVersion) {
         return sectionRepository.findById(id).map(existingSection -> {
-            Optional.ofNullable(sectionDetails.getLesson()).ifPresent(existingSection::setLesson);
-            Optional.ofNullable(sectionDetails.getTitle()).ifPresent(existingSection::setTitle);
-            Optional.ofNullable(sectionDetails.getContentType()).ifPresent(existingSection::setContentType);
-            Optional.ofNullable(sectionDetails.getContentUrl()).ifPresent(existingSection::setContentUrl);
-            Optional.ofNullable(sectionDetails.getContentText()).ifPresent(existingSection::setContentText);
-            // Update createdAt if needed
-            return sectionRepository.save(existingSection);
+            if (expectedVersion != null && !expectedVersion.equals(existingSection.getVersion())) {
+                throw new PreconditionFailedException("Section " + id + " is at version " + existingSection.getVersion() + ", not " + expectedVersion);
+            }
+            ChangeTracker changes = new ChangeTracker();
+            Optional.ofNullable(sectionDetails.getLesson())
+                    .filter(lesson -> !lesson.getId().equals(existingSection.getLesson().getId()))
+                    .ifPresent(lesson -> {
+                        evictCachedSections(existingSection.getLesson());
+                        evictCachedSections(lesson);
+                        existingSection.setLesson(lesson);
+                        changes.mark();
+                    });
+            changes.set(sectionDetails.getTitle(), existingSection::getTitle, existingSection::setTitle);
+            changes.set(sectionDetails.getContentType(), existingSection::getContentType, existingSection::setContentType);
+            changes.set(sectionDetails.getContentUrl(), existingSection::getContentUrl, existingSection::setContentUrl);
+            changes.set(sectionDetails.getContentText(), existingSection::getContentText, existingSection::setContentText);
+            if (!changes.changed()) {
+                return existingSection;
+            }
+            Section savedSection = sectionRepository.save(existingSection);
+            searchService.indexSection(savedSection);
+            return savedSection;
         }).orElseThrow(() -> new ResourceNotFoundException("Section not found with id " + id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Section> getSectionById(Long id) {
         return sectionRepository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Section> getAllSections() {
         return sectionRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<SectionResponse> getSectionPage(PageCursor after, int limit) {
+        List<SectionResponse> rows = after == null
+                ? sectionRepository.findPage(Limit.of(limit + 1))
+                : sectionRepository.findPageAfter(after.createdAt(), after.id(), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, section -> new PageCursor(section.getCreatedAt(), section.getId()));
+    }
+
     @Override
     public void deleteSection(Long id) {
-        Section section = sectionRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Section not found with id " + id));
-        sectionRepository.delete(section);
+        contentDeletionService.deleteSection(id);
+    }
+
+    /**
+     * Sections are written through their own repository rather than through
+     * Lesson.sections, so Hibernate cannot tell that the cached collection changed.
+     */
+    private void evictCachedSections(Lesson lesson) {
+        if (lesson == null || lesson.getId() == null) {
+            return;
+        }
+        Long lessonId = lesson.getId();
+        TransactionCallbacks.afterCommit(() -> sessionFactory.getCache().evictCollectionData(LESSON_SECTIONS_ROLE, lessonId));
     }
 }
@@ -0,0 +1,111 @@
+-- Schema of the entities when migrations took over; earlier versions recreated it on every start (ddl-auto=create-drop)
+
+create sequence course_seq start with 1 increment by 50;
+create sequence course_user_seq start with 1 increment by 50;
+create sequence lesson_seq start with 1 increment by 50;
+create sequence progress_seq start with 1 increment by 50;
+create sequence section_seq start with 1 increment by 50;
+
+create table author (
+    id bigint generated by default as identity,
+    created_at date,
+    email varchar(255),
+    name varchar(255),
+    password varchar(255),
+    phone varchar(255),
+    rating varchar(255) check (rating in ('ONE', 'TWO', 'THREE', 'FOUR', 'FIVE')),
+    role varchar(255),
+    status varchar(255),
+    primary key (id),
+    constraint uk_author_email unique (email)
+);
+
+create table course (
+    id bigint not null,
+    version bigint,
+    title varchar(255) not null,
+    description varchar(255),
+    image varchar(255),
+    video varchar(255),
+    category varchar(255),
+    duration varchar(255),
+    price varchar(255),
+    level varchar(255),
+    status varchar(255),
+    rating varchar(255) check (rating in ('ONE', 'TWO', 'THREE', 'FOUR', 'FIVE')),
+    created_date date,
+    last_modified_date timestamp(6),
+    created_by varchar(255),
+    last_modified_by varchar(255),
+    user_id bigint,
+    primary key (id),
+    constraint fk_course_author foreign key (user_id) references author (id)
+);
+
+create table lesson (
+    id bigint not null,
+    version bigint,
+    course_id bigint,
+    title varchar(255),
+    description varchar(255),
+    duration varchar(255),
+    level varchar(255),
+    status varchar(255),
+    rating varchar(255) check (rating in ('ONE', 'TWO', 'THREE', 'FOUR', 'FIVE')),
+    created_at timestamp(6),
+    primary key (id),
+    constraint fk_lesson_course foreign key (course_id) references course (id)
+);
+
+create table section (
+    id bigint not null,
+    version bigint,
+    lesson_id bigint not null,
+    title varchar(255),
+    content_type varchar(255) check (content_type in ('TEXT', 'IMAGE', 'VIDEO', 'AUDIO', 'PDF', 'QUIZ', 'OTHER')),
+    content_url varchar(255),
+    content_text varchar(255),
+    created_at timestamp(6),
+    primary key (id),
+    constraint fk_section_lesson foreign key (lesson_id) references lesson (id)
+);
+
+create table course_user (
+    id bigint not null,
+    course_id bigint,
+    user_id bigint,
+    role varchar(255) check (role in ('STUDENT', 'INSTRUCTOR', 'TEACHING_ASSISTANT', 'AUTHOR', 'COLLABORATOR', 'ADMIN')),
+    status varchar(255) check (status in ('ACTIVE', 'INACTIVE', 'PENDING', 'APPROVED', 'REJECTED')),
+    created_at date,
+    primary key (id),
+    constraint fk_course_user_course foreign key (course_id) references course (id),
+    constraint fk_course_user_author foreign key (user_id) references author (id)
+);
+
+create table progress (
+    id bigint not null,
+    user_id bigint,
+    course_id bigint,
+    lesson_id bigint,
+    section_id bigint,
+    status varchar(255) check (status in ('NOT_STARTED', 'INCOMPLETE', 'COMPLETED')),
+    created_at timestamp(6),
+    primary key (id),
+    constraint uk_progress_user_section unique (user_id, section_id),
+    constraint fk_progress_author foreign key (user_id) references author (id),
+    constraint fk_progress_course foreign key (course_id) references course (id),
+    constraint fk_progress_lesson foreign key (lesson_id) references lesson (id),
+    constraint fk_progress_section foreign key (section_id) references section (id)
+);
+
+create table course_completion (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    course_id bigint not null,
+    not_started_count integer not null,
+    incomplete_count integer not null,
+    completed_count integer not null,
+    updated_at timestamp(6),
+    primary key (id),
+    constraint uk_course_completion_user_course unique (user_id, course_id)
+);
@@ -0,0 +1,12 @@
+-- Membership checks (existsByCourseIdAndUserIdAndRole) and member lists by course
+create index idx_course_user_course_user_role on course_user (course_id, user_id, role);
+
+-- Completion counts per (user, course); uk_progress_user_section already covers lookups by (user, section)
+create index idx_progress_user_course on progress (user_id, course_id);
+create index idx_progress_section on progress (section_id);
+-- Bulk deletes of a course or lesson, and the foreign key checks when its rows go
+create index idx_progress_course on progress (course_id);
+create index idx_progress_lesson on progress (lesson_id);
+
+create index idx_lesson_course on lesson (course_id);
+create index idx_section_lesson on section (lesson_id);
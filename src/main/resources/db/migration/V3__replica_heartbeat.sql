@@ -0,0 +1,6 @@
+-- Written on the primary and read back from the read replica to measure replication lag
+create table replica_heartbeat (
+    id integer not null,
+    beat_at bigint not null,
+    primary key (id)
+);
@@ -0,0 +1,7 @@
+-- Keyset pagination: each page seeks to (created_at, id) > cursor and reads the next rows in index order
+create index idx_course_created_id on course (created_date, id);
+create index idx_lesson_created_id on lesson (created_at, id);
+create index idx_section_created_id on section (created_at, id);
+create index idx_progress_created_id on progress (created_at, id);
+-- Collaborator lists page within one course
+create index idx_course_user_course_created_id on course_user (course_id, created_at, id);
@@ -0,0 +1,142 @@
+package com.example.skillhub.benchmarks;
+
+import com.example.skillhub.domain.Author;
+import com.example.skillhub.repositories.AuthorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers the form login endpoint with concurrent clients while probing a cheap
+ * endpoint, and reports login throughput, the share of fast 503s and how
+ * responsive the rest of the server stayed. Run with {@code mvn -Pbenchmark test}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "security.bcrypt.strength=10",
+        "security.bcrypt.queue-capacity=16",
+        "spring.jpa.show-sql=false"
+})
+class LoginThroughputBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 64);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.seconds", 20));
+    private static final String PASSWORD = "password123";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void loginThroughput() throws Exception {
+        // Stored with a lower cost so the first login also exercises the transparent rehash
+        Author author = authorRepository.save(Author.builder()
+                .name("Benchmark User")
+                .email("bench@example.com")
+                .phone("1234567890")
+                .password(new BCryptPasswordEncoder(8).encode(PASSWORD))
+                .role("ROLE_USER")
+                .status("active")
+                .build());
+
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger unavailable = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<Long> loginNanos = Collections.synchronizedList(new ArrayList<>());
+        List<Long> probeNanos = Collections.synchronizedList(new ArrayList<>());
+        long deadline = System.nanoTime() + DURATION.toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        int status = send(loginRequest(author.getEmail()));
+                        loginNanos.add(System.nanoTime() - start);
+                        if (status == 200) {
+                            ok.incrementAndGet();
+                        } else if (status == 503) {
+                            unavailable.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            clients.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    send(HttpRequest.newBuilder(uri("/api/auth/me")).GET().build());
+                    probeNanos.add(System.nanoTime() - start);
+                    Thread.sleep(50);
+                }
+                return null;
+            });
+        }
+
+        double seconds = DURATION.toMillis() / 1000.0;
+        System.out.printf("Login benchmark: %d clients for %.0fs%n", CLIENTS, seconds);
+        System.out.printf("  successful logins: %d (%.1f/s)%n", ok.get(), ok.get() / seconds);
+        System.out.printf("  rejected with 503: %d, other failures: %d%n", unavailable.get(), failed.get());
+        System.out.printf("  login latency  p50=%dms p99=%dms%n", percentile(loginNanos, 50), percentile(loginNanos, 99));
+        System.out.printf("  probe latency  p50=%dms p99=%dms%n", percentile(probeNanos, 50), percentile(probeNanos, 99));
+        System.out.printf("  stored hash after login: %s%n",
+                authorRepository.findByEmail(author.getEmail()).orElseThrow().getPassword().substring(0, 7));
+
+        assertTrue(ok.get() > 0, "no login succeeded");
+    }
+
+    private HttpRequest loginRequest(String email) {
+        return HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("email=" + email + "&password=" + PASSWORD))
+                .build();
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception ex) {
+            return -1;
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static long percentile(List<Long> samples, int percentile) {
+        if (samples.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted;
+        synchronized (samples) {
+            sorted = new ArrayList<>(samples);
+        }
+        Collections.sort(sorted);
+        int index = Math.min(sorted.size() - 1, (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1);
+        return Duration.ofNanos(sorted.get(Math.max(index, 0))).toMillis();
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.skillhub.benchmarks;
+
+import com.example.skillhub.SkillHubApplication;
+import com.example.skillhub.domain.Author;
+import com.example.skillhub.repositories.AuthorRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts the application once with platform request threads and once with virtual
+ * threads, each against its own in-memory database and the same JDBC pool size, and
+ * drives both with the same mix of catalog reads and course updates from many
+ * concurrent clients. Run with {@code mvn -Pbenchmark test -Dtest=ThreadModeBenchmark}.
+ */
+class ThreadModeBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 1000);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmup-seconds", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.seconds", 20));
+    private static final int COURSES = 100;
+    private static final String PASSWORD = "password123";
+
+    private record Result(int ok, int rejected, int failed, List<Long> latencies, double connectionWaitMillis) {
+    }
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        double seconds = DURATION.toMillis() / 1000.0;
+        System.out.printf("Thread mode benchmark: %d clients for %.0fs per mode%n", CLIENTS, seconds);
+        report("platform", platform, seconds);
+        report("virtual ", virtual, seconds);
+
+        assertTrue(platform.ok() > 0 && virtual.ok() > 0, "no request succeeded");
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SkillHubApplication.class).run(
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.url=jdbc:h2:mem:thread-mode-" + virtualThreads,
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--security.bcrypt.strength=4",
+                "--search.index.snapshot-path=",
+                "--logging.level.root=WARN")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Client client = new Client(port);
+            client.login(seedAuthor(context.getBean(AuthorRepository.class)));
+            for (int i = 1; i <= COURSES; i++) {
+                client.send(client.json("/api/courses", "POST",
+                        "{\"title\":\"Course " + i + "\",\"category\":\"Bench\",\"level\":\"Beginner\"}"));
+                client.send(client.json("/api/lessons", "POST",
+                        "{\"courseId\":" + i + ",\"title\":\"Lesson " + i + "\"}"));
+            }
+
+            drive(client, WARMUP, null);
+            return drive(client, DURATION, context.getBean(MeterRegistry.class).find("hikaricp.connections.acquire").timer());
+        }
+    }
+
+    private Result drive(Client client, Duration duration, Timer connectionAcquire) throws InterruptedException {
+        long acquiredBefore = connectionAcquire != null ? connectionAcquire.count() : 0;
+        double waitedBefore = connectionAcquire != null ? connectionAcquire.totalTime(TimeUnit.MILLISECONDS) : 0;
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        int status = client.send(nextRequest(client));
+                        latencies.add(System.nanoTime() - start);
+                        if (status == 200) {
+                            ok.incrementAndGet();
+                        } else if (status == 503) {
+                            rejected.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+        double connectionWaitMillis = Double.NaN;
+        if (connectionAcquire != null && connectionAcquire.count() > acquiredBefore) {
+            connectionWaitMillis = (connectionAcquire.totalTime(TimeUnit.MILLISECONDS) - waitedBefore)
+                    / (connectionAcquire.count() - acquiredBefore);
+        }
+        return new Result(ok.get(), rejected.get(), failed.get(), latencies, connectionWaitMillis);
+    }
+
+    // Mostly reads, each a few sequential repository calls, with one write in ten
+    private static HttpRequest nextRequest(Client client) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long courseId = random.nextLong(1, COURSES + 1);
+        return switch (random.nextInt(10)) {
+            case 0 -> client.json("/api/courses/" + courseId, "PUT",
+                    "{\"title\":\"Course " + courseId + "\",\"description\":\"rev " + random.nextInt() + "\"}");
+            case 1, 2, 3 -> client.get("/api/courses/" + courseId + "/tree");
+            case 4, 5, 6 -> client.get("/api/courses/" + courseId);
+            default -> client.get("/api/courses?limit=20");
+        };
+    }
+
+    private static Author seedAuthor(AuthorRepository authorRepository) {
+        return authorRepository.save(Author.builder()
+                .name("Benchmark User")
+                .email("threads@example.com")
+                .phone("1234567890")
+                .password(new BCryptPasswordEncoder(4).encode(PASSWORD))
+                .role("ROLE_USER")
+                .status("active")
+                .build());
+    }
+
+    private static void report(String mode, Result result, double seconds) {
+        System.out.printf("  %s  %d ok (%.0f/s), %d 503s, %d other failures, latency p50=%dms p99=%dms, mean connection wait %.1fms%n",
+                mode, result.ok(), result.ok() / seconds, result.rejected(), result.failed(),
+                percentile(result.latencies(), 50), percentile(result.latencies(), 99), result.connectionWaitMillis());
+    }
+
+    private static long percentile(List<Long> samples, int percentile) {
+        if (samples.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted;
+        synchronized (samples) {
+            sorted = new ArrayList<>(samples);
+        }
+        Collections.sort(sorted);
+        int index = Math.min(sorted.size() - 1, (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1);
+        return Duration.ofNanos(sorted.get(Math.max(index, 0))).toMillis();
+    }
+
+    // One shared session for every simulated client; the benchmark measures request handling, not login
+    private static final class Client {
+        private final int port;
+        private final HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        private String sessionCookie;
+
+        Client(int port) {
+            this.port = port;
+        }
+
+        void login(Author author) throws Exception {
+            HttpResponse<Void> response = http.send(HttpRequest.newBuilder(uri("/api/auth/login"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString("email=" + author.getEmail() + "&password=" + PASSWORD))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            sessionCookie = response.headers().firstValue("Set-Cookie").orElseThrow().split(";")[0];
+        }
+
+        HttpRequest get(String path) {
+            return HttpRequest.newBuilder(uri(path)).header("Cookie", sessionCookie).GET().build();
+        }
+
+        HttpRequest json(String path, String method, String body) {
+            return HttpRequest.newBuilder(uri(path))
+                    .header("Cookie", sessionCookie)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+
+        int send(HttpRequest request) {
+            try {
+                return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (Exception ex) {
+                return -1;
+            }
+        }
+
+        private URI uri(String path) {
+            return URI.create("http://localhost:" + port + path);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.skillhub.config;
+
+import com.example.skillhub.exceptions.LoginCapacityExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BestEffortRehashAuthenticationProviderTest {
+
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final UserDetailsPasswordService passwordService = mock(UserDetailsPasswordService.class);
+    private final UserDetails user = User.withUsername("learner@example.com").password("old-hash").roles("USER").build();
+    private BestEffortRehashAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        UserDetailsService userDetailsService = username -> user;
+        provider = new BestEffortRehashAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService(passwordService);
+        when(passwordEncoder.matches("secret", "old-hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("old-hash")).thenReturn(true);
+    }
+
+    @Test
+    void rehashesAfterASuccessfulLogin() {
+        when(passwordEncoder.encode("secret")).thenReturn("new-hash");
+        when(passwordService.updatePassword(user, "new-hash")).thenReturn(user);
+
+        assertTrue(provider.authenticate(login("secret")).isAuthenticated());
+        verify(passwordService).updatePassword(user, "new-hash");
+    }
+
+    @Test
+    void loginSucceedsWhenTheRehashIsTurnedAway() {
+        when(passwordEncoder.encode("secret")).thenThrow(new LoginCapacityExceededException("busy"));
+
+        Authentication result = provider.authenticate(login("secret"));
+
+        assertTrue(result.isAuthenticated());
+        assertEquals(user, result.getPrincipal());
+        assertEquals(Set.copyOf(user.getAuthorities()), Set.copyOf(result.getAuthorities()));
+        verify(passwordService, never()).updatePassword(any(), any());
+    }
+
+    @Test
+    void capacityErrorsWhileCheckingThePasswordStillFailTheLogin() {
+        when(passwordEncoder.matches("other", "old-hash")).thenThrow(new LoginCapacityExceededException("busy"));
+
+        assertThrows(LoginCapacityExceededException.class, () -> provider.authenticate(login("other")));
+    }
+
+    @Test
+    void wrongPasswordIsStillRejected() {
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(login("wrong")));
+        verify(passwordEncoder, never()).encode("wrong");
+    }
+
+    private static UsernamePasswordAuthenticationToken login(String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated("learner@example.com", password);
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.skillhub.config;
+
+import com.example.skillhub.domain.Author;
+import com.example.skillhub.repositories.AuthorRepository;
+import com.example.skillhub.services.AuthorService;
+import com.example.skillhub.services.CourseUserService;
+import com.example.skillhub.services.CourseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the application against two separate in-memory H2 databases standing in
+ * for a primary and its replica, with no replication between them, so each read
+ * shows which database served it. The test owns the replica's heartbeat row and
+ * so decides whether the replica counts as current.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingDataSourceTest.PRIMARY_URL,
+        "replica.datasource.url=" + ReplicaRoutingDataSourceTest.REPLICA_URL,
+        "replica.datasource.username=sa",
+        "replica.datasource.max-lag=5s",
+        "replica.datasource.heartbeat-interval=50ms"
+})
+class ReplicaRoutingDataSourceTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseUserService courseUserService;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void createReplicaSchema() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    }
+
+    @BeforeEach
+    void clearCaches() {
+        evictCaches();
+    }
+
+    @Test
+    void readsGoToReplicaWhileHeartbeatIsFresh() {
+        Author written = authorRepository.save(author("primary@example.com", "Written on the primary"));
+        copyToReplica(written, "Replica copy");
+        evictCaches();
+
+        replicaHeartbeat(Duration.ZERO);
+        awaitReplicaUsable(true);
+        double replicaReads = readOnlyConnections("replica");
+
+        Author read = authorService.getAuthorById(written.getId()).orElseThrow();
+
+        assertEquals("Replica copy", read.getName());
+        assertTrue(readOnlyConnections("replica") > replicaReads);
+        assertFalse(entityManagerFactory.getCache().contains(Author.class, written.getId()),
+                "A row read from the replica must not be put into the second-level cache");
+    }
+
+    @Test
+    void readsFallBackToPrimaryOnceHeartbeatIsOlderThanMaxLag() {
+        Author written = authorRepository.save(author("fallback@example.com", "Written on the primary"));
+        copyToReplica(written, "Replica copy");
+        evictCaches();
+
+        replicaHeartbeat(Duration.ofSeconds(30));
+        awaitReplicaUsable(false);
+        double fallbackReads = readOnlyConnections("primary");
+
+        Author read = authorService.getAuthorById(written.getId()).orElseThrow();
+
+        assertEquals("Written on the primary", read.getName());
+        assertTrue(readOnlyConnections("primary") > fallbackReads);
+        assertTrue(entityManagerFactory.getCache().contains(Author.class, written.getId()));
+    }
+
+    @Test
+    void replicaReadsStillUseCachedEntities() {
+        Author written = authorRepository.save(author("cached@example.com", "Written on the primary"));
+        copyToReplica(written, "Replica copy");
+        evictCaches();
+
+        replicaHeartbeat(Duration.ofSeconds(30));
+        awaitReplicaUsable(false);
+        authorService.getAuthorById(written.getId());
+
+        replicaHeartbeat(Duration.ZERO);
+        awaitReplicaUsable(true);
+        assertEquals("Written on the primary", authorService.getAuthorById(written.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void queryResultsReadFromReplicaAreNotCached() {
+        new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""))
+                .update("INSERT INTO course (id, version, title) VALUES (-1, 0, 'Only on the primary')");
+        evictCaches();
+
+        replicaHeartbeat(Duration.ZERO);
+        awaitReplicaUsable(true);
+        assertTrue(courseService.getCoursePage(null, 10).getItems().isEmpty());
+
+        replicaHeartbeat(Duration.ofSeconds(30));
+        awaitReplicaUsable(false);
+        assertEquals(1, courseService.getCoursePage(null, 10).getItems().size(),
+                "The replica's page must not be served from the query cache once reads are back on the primary");
+    }
+
+    @Test
+    void memberListingsReadFromReplica() {
+        replicaHeartbeat(Duration.ZERO);
+        awaitReplicaUsable(true);
+        double replicaReads = readOnlyConnections("replica");
+
+        courseUserService.findPageByCourseId(-1L, null, 10);
+        courseUserService.findByCourseId(-1L);
+
+        assertEquals(replicaReads + 2, readOnlyConnections("replica"));
+    }
+
+    @Test
+    void writesAlwaysGoToPrimary() {
+        replicaHeartbeat(Duration.ZERO);
+        awaitReplicaUsable(true);
+
+        Author written = authorRepository.save(author("write@example.com", "Written on the primary"));
+
+        assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM author WHERE id = ?", Integer.class, written.getId()));
+    }
+
+    private void evictCaches() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    private static Author author(String email, String name) {
+        return Author.builder().email(email).name(name).role("ROLE_USER").status("active").build();
+    }
+
+    private static void copyToReplica(Author author, String name) {
+        replica.update("INSERT INTO author (id, email, name, role, status) VALUES (?, ?, ?, ?, ?)",
+                author.getId(), author.getEmail(), name, author.getRole(), author.getStatus());
+    }
+
+    private static void replicaHeartbeat(Duration age) {
+        replica.update("MERGE INTO replica_heartbeat (id, beat_at) KEY (id) VALUES (1, ?)",
+                System.currentTimeMillis() - age.toMillis());
+    }
+
+    private void awaitReplicaUsable(boolean usable) {
+        await(() -> replicaLagMonitor.isReplicaUsable() == usable,
+                "replica to become " + (usable ? "usable" : "unusable"));
+    }
+
+    private double readOnlyConnections(String target) {
+        return meterRegistry.counter("datasource.readonly.connections", "target", target).count();
+    }
+
+    private static void await(BooleanSupplier condition, String what) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for " + what);
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted waiting for " + what);
+            }
+        }
+    }
+}
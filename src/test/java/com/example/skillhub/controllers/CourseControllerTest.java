@@ -0,0 +1,201 @@
+package com.example.skillhub.controllers;
+
+import com.example.skillhub.domain.Author;
+import com.example.skillhub.domain.Course;
+import com.example.skillhub.domain.CourseUser;
+import com.example.skillhub.domain.Lesson;
+import com.example.skillhub.domain.Section;
+import com.example.skillhub.enums.ProgressStatus;
+import com.example.skillhub.enums.UserRoleInCourse;
+import com.example.skillhub.repositories.AuthorRepository;
+import com.example.skillhub.services.CourseService;
+import com.example.skillhub.services.CourseUserService;
+import com.example.skillhub.services.LessonService;
+import com.example.skillhub.services.ProgressService;
+import com.example.skillhub.services.SectionService;
+import com.example.skillhub.support.SqlStatements;
+import com.example.skillhub.support.TestCatalog;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.example.skillhub.support.TestCatalog.as;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CourseControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private CourseUserService courseUserService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private LessonService lessonService;
+
+    @Autowired
+    private SectionService sectionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestCatalog catalog;
+    private Author owner;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new TestCatalog(authorRepository, courseService, lessonService, sectionService, entityManagerFactory);
+        owner = catalog.author("Course Owner");
+    }
+
+    @Test
+    void courseTreeTakesTwoSelectsWhateverItsSize() throws Exception {
+        Course course = catalog.course(owner, "Tree");
+        for (int l = 0; l < 3; l++) {
+            Lesson lesson = catalog.lesson(course, "Lesson " + l);
+            for (int s = 0; s < 4; s++) {
+                catalog.section(lesson, "Section " + l + "." + s);
+            }
+        }
+        catalog.evictCaches();
+
+        mvc.perform(get("/api/courses/{id}/tree", course.getId()).with(as(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lessons.length()").value(3))
+                .andExpect(jsonPath("$.lessons[2].sections.length()").value(4))
+                .andExpect(SqlStatements.selects(2));
+    }
+
+    @Test
+    void coursePagesFollowTheCursorAcrossEqualCreationDates() throws Exception {
+        // created_date only keeps the day, so these all tie on it and the id decides their order
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(catalog.course(owner, "Paged " + i).getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            MvcResult page = mvc.perform(get("/api/courses").param("limit", "2").param("cursor", cursor).with(as(owner)))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            String body = page.getResponse().getContentAsString();
+            List<Number> ids = JsonPath.read(body, "$.items[*].id");
+            ids.forEach(id -> seen.add(id.longValue()));
+            cursor = JsonPath.read(body, "$.next");
+        } while (cursor != null);
+
+        assertEquals(seen.size(), new HashSet<>(seen).size(), "A course was returned on two pages: " + seen);
+        List<Long> ours = seen.stream().filter(created::contains).toList();
+        assertEquals(created, ours);
+    }
+
+    @Test
+    void unchangedCourseIsNotModified() throws Exception {
+        Course course = catalog.course(owner, "Cached");
+        String etag = mvc.perform(get("/api/courses/{id}", course.getId()).with(as(owner)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/api/courses/{id}", course.getId()).header(HttpHeaders.IF_NONE_MATCH, etag).with(as(owner)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void updateBasedOnAnOldVersionFailsItsPrecondition() throws Exception {
+        Course course = catalog.course(owner, "Original");
+        String etag = mvc.perform(get("/api/courses/{id}", course.getId()).with(as(owner)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String newEtag = mvc.perform(put("/api/courses/{id}", course.getId()).header(HttpHeaders.IF_MATCH, etag).with(as(owner))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"First edit\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+
+        mvc.perform(put("/api/courses/{id}", course.getId()).header(HttpHeaders.IF_MATCH, etag).with(as(owner))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Lost edit\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mvc.perform(get("/api/courses/{id}", course.getId()).with(as(owner)))
+                .andExpect(jsonPath("$.title").value("First edit"))
+                .andExpect(header().string(HttpHeaders.ETAG, newEtag));
+    }
+
+    @Test
+    void deletingACourseTakesTheSameStatementsWhateverItsSize() throws Exception {
+        Course small = courseWithProgress(1, 1);
+        Course large = courseWithProgress(3, 5);
+        List<Long> largeSections = jdbcTemplate.queryForList(
+                "SELECT s.id FROM section s JOIN lesson l ON s.lesson_id = l.id WHERE l.course_id = ?", Long.class, large.getId());
+        assertEquals(15, largeSections.size());
+
+        int smallStatements = deleteCourse(small);
+        int largeStatements = deleteCourse(large);
+
+        assertEquals(smallStatements, largeStatements);
+        for (String table : List.of("progress", "lesson", "course_user", "course_completion")) {
+            assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE course_id = ?",
+                    Integer.class, large.getId()), table);
+        }
+        for (Long sectionId : largeSections) {
+            assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM section WHERE id = ?", Integer.class, sectionId));
+        }
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM course WHERE id = ?", Integer.class, large.getId()));
+    }
+
+    private Course courseWithProgress(int lessons, int sectionsPerLesson) {
+        Course course = catalog.course(owner, lessons + "x" + sectionsPerLesson);
+        Author learner = catalog.author("Learner");
+        courseUserService.createCourseUser(CourseUser.builder().course(course).user(learner)
+                .role(UserRoleInCourse.STUDENT).build());
+        for (int l = 0; l < lessons; l++) {
+            Lesson lesson = catalog.lesson(course, "Lesson " + l);
+            for (int s = 0; s < sectionsPerLesson; s++) {
+                Section section = catalog.section(lesson, "Section " + s);
+                progressService.upsertProgress(learner.getId(), course.getId(), lesson.getId(), section.getId(), ProgressStatus.COMPLETED);
+            }
+        }
+        return course;
+    }
+
+    private int deleteCourse(Course course) throws Exception {
+        catalog.evictCaches();
+        MvcResult result = mvc.perform(delete("/api/courses/{id}", course.getId()).with(as(owner)))
+                .andExpect(status().isNoContent())
+                .andReturn();
+        return SqlStatements.of(result).total();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.skillhub.controllers;
+
+import com.example.skillhub.domain.Author;
+import com.example.skillhub.domain.Course;
+import com.example.skillhub.repositories.AuthorRepository;
+import com.example.skillhub.services.CourseService;
+import com.example.skillhub.services.LessonService;
+import com.example.skillhub.services.SectionService;
+import com.example.skillhub.support.TestCatalog;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.skillhub.support.TestCatalog.as;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CourseUserControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private LessonService lessonService;
+
+    @Autowired
+    private SectionService sectionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestCatalog catalog;
+    private Author owner;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new TestCatalog(authorRepository, courseService, lessonService, sectionService, entityManagerFactory);
+        owner = catalog.author("Owner");
+        course = catalog.course(owner, "Enrollment");
+    }
+
+    @Test
+    void bulkEnrollmentReportsAnOutcomePerEmail() throws Exception {
+        Author newcomer = catalog.author("Newcomer");
+        Author member = catalog.author("Member");
+        String unknown = "nobody+" + course.getId() + "@example.com";
+        mvc.perform(enroll(member.getEmail())).andExpect(status().isOk());
+
+        mvc.perform(enroll(newcomer.getEmail(), member.getEmail(), unknown, newcomer.getEmail()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enrolled").value(1))
+                .andExpect(jsonPath("$.alreadyMembers").value(1))
+                .andExpect(jsonPath("$.notFound").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("ENROLLED"))
+                .andExpect(jsonPath("$.results[0].userId").value(newcomer.getId()))
+                .andExpect(jsonPath("$.results[0].courseUserId").isNumber())
+                .andExpect(jsonPath("$.results[1].outcome").value("ALREADY_MEMBER"))
+                .andExpect(jsonPath("$.results[1].courseUserId").doesNotExist())
+                .andExpect(jsonPath("$.results[2].outcome").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.results[2].userId").doesNotExist())
+                .andExpect(jsonPath("$.results[3].outcome").value("DUPLICATE"));
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM course_user WHERE course_id = ?",
+                Integer.class, course.getId()));
+    }
+
+    @Test
+    void repeatingABulkEnrollmentAddsNoMembers() throws Exception {
+        Author first = catalog.author("First");
+        Author second = catalog.author("Second");
+
+        mvc.perform(enroll(first.getEmail(), second.getEmail())).andExpect(jsonPath("$.enrolled").value(2));
+        mvc.perform(enroll(first.getEmail(), second.getEmail()))
+                .andExpect(jsonPath("$.enrolled").value(0))
+                .andExpect(jsonPath("$.alreadyMembers").value(2));
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM course_user WHERE course_id = ?",
+                Integer.class, course.getId()));
+    }
+
+    @Test
+    void onlyTheOwnerMayEnroll() throws Exception {
+        Author other = catalog.author("Other");
+
+        mvc.perform(post("/api/course-users/bulk").with(as(other)).contentType(MediaType.APPLICATION_JSON)
+                        .content(body(other.getEmail())))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void invalidEmailsAreABadRequest() throws Exception {
+        for (String emails : List.of("[null]", "[\"   \"]", "[\"not-an-email\"]")) {
+            mvc.perform(post("/api/course-users/bulk").with(as(owner)).contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"courseId\": %d, \"emails\": %s}".formatted(course.getId(), emails)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value(containsString("emails[0]")));
+        }
+    }
+
+    private MockHttpServletRequestBuilder enroll(String... emails) {
+        return post("/api/course-users/bulk").with(as(owner)).contentType(MediaType.APPLICATION_JSON).content(body(emails));
+    }
+
+    private String body(String... emails) {
+        return """
+                {"courseId": %d, "emails": [%s]}
+                """.formatted(course.getId(), String.join(", ", Arrays.stream(emails).map(email -> "\"" + email + "\"").toList()));
+    }
+}
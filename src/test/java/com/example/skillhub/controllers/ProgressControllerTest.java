@@ -0,0 +1,167 @@
+package com.example.skillhub.controllers;
+
+import com.example.skillhub.domain.Author;
+import com.example.skillhub.domain.Course;
+import com.example.skillhub.domain.Lesson;
+import com.example.skillhub.domain.Section;
+import com.example.skillhub.enums.ProgressStatus;
+import com.example.skillhub.repositories.AuthorRepository;
+import com.example.skillhub.services.CourseService;
+import com.example.skillhub.services.LessonService;
+import com.example.skillhub.services.ProgressService;
+import com.example.skillhub.services.SectionService;
+import com.example.skillhub.support.SqlStatements;
+import com.example.skillhub.support.TestCatalog;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.example.skillhub.support.TestCatalog.as;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProgressControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private LessonService lessonService;
+
+    @Autowired
+    private SectionService sectionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestCatalog catalog;
+    private Author learner;
+    private Course course;
+    private Lesson lesson;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new TestCatalog(authorRepository, courseService, lessonService, sectionService, entityManagerFactory);
+        learner = catalog.author("Learner");
+        course = catalog.course(learner, "Progress");
+        lesson = catalog.lesson(course, "Lesson");
+    }
+
+    @Test
+    void progressPageIsOneSelect() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            Section section = catalog.section(lesson, "Section " + i);
+            progressService.upsertProgress(learner.getId(), course.getId(), lesson.getId(), section.getId(), ProgressStatus.COMPLETED);
+        }
+        catalog.evictCaches();
+
+        mvc.perform(get("/api/progresses").param("limit", "5").with(as(learner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(5))
+                .andExpect(SqlStatements.selects(1));
+    }
+
+    @Test
+    void progressPagesFollowTheCursorAcrossEqualCreationTimes() throws Exception {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Section section = catalog.section(lesson, "Section " + i);
+            created.add(progressService.upsertProgress(learner.getId(), course.getId(), lesson.getId(), section.getId(),
+                    ProgressStatus.INCOMPLETE).progress().getId());
+        }
+        // Ties on created_at are what a cursor on the timestamp alone would skip or repeat
+        Timestamp sameInstant = jdbcTemplate.queryForObject("SELECT MAX(created_at) FROM progress", Timestamp.class);
+        for (Long id : created) {
+            jdbcTemplate.update("UPDATE progress SET created_at = ? WHERE id = ?", sameInstant, id);
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            String body = mvc.perform(get("/api/progresses").param("limit", "2").param("cursor", cursor).with(as(learner)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            List<Number> ids = JsonPath.read(body, "$.items[*].id");
+            ids.forEach(id -> seen.add(id.longValue()));
+            cursor = JsonPath.read(body, "$.next");
+        } while (cursor != null);
+
+        assertEquals(seen.size(), new HashSet<>(seen).size(), "A progress record was returned on two pages: " + seen);
+        assertEquals(created, seen.stream().filter(created::contains).toList());
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() throws Exception {
+        mvc.perform(get("/api/progresses").param("cursor", "not a cursor!").with(as(learner)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void repeatingAnUpsertLeavesOneRecordAndOneCompletion() throws Exception {
+        Section section = catalog.section(lesson, "Section");
+        catalog.section(lesson, "Other section");
+        String body = """
+                {"courseId": %d, "lessonId": %d, "sectionId": %d, "status": "COMPLETED"}
+                """.formatted(course.getId(), lesson.getId(), section.getId());
+
+        Number first = JsonPath.read(mvc.perform(upsert(body)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), "$.id");
+        mvc.perform(upsert(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(first.longValue()))
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM progress WHERE user_id = ? AND section_id = ?",
+                Integer.class, learner.getId(), section.getId()));
+        mvc.perform(get("/api/progresses/summary").param("courseId", course.getId().toString()).with(as(learner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalSections").value(2))
+                .andExpect(jsonPath("$.completedSections").value(1))
+                .andExpect(jsonPath("$.percentComplete").value(50.0));
+    }
+
+    @Test
+    void upsertForASectionOutsideTheLessonIsRejected() throws Exception {
+        Lesson otherLesson = catalog.lesson(course, "Other lesson");
+        Section section = catalog.section(otherLesson, "Section");
+        String body = """
+                {"courseId": %d, "lessonId": %d, "sectionId": %d, "status": "COMPLETED"}
+                """.formatted(course.getId(), lesson.getId(), section.getId());
+
+        mvc.perform(upsert(body)).andExpect(status().isBadRequest());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM progress WHERE section_id = ?",
+                Integer.class, section.getId()));
+    }
+
+    private MockHttpServletRequestBuilder upsert(String body) {
+        return put("/api/progresses").with(as(learner)).contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.skillhub.services.impl;
+
+import com.example.skillhub.domain.dto.ProgressEvent;
+import com.example.skillhub.enums.ProgressStatus;
+import com.example.skillhub.exceptions.IngestionCapacityExceededException;
+import com.example.skillhub.services.ProgressService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Drives the ingestion queue against a mocked {@link ProgressService}. The flush
+ * interval is an hour, so batches are only written when one fills up or the
+ * service stops.
+ */
+class ProgressIngestionServiceImplTest {
+
+    private final ProgressService progressService = mock(ProgressService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ProgressIngestionServiceImpl ingestion;
+
+    @AfterEach
+    void stop() {
+        if (ingestion != null && ingestion.isRunning()) {
+            ingestion.stop();
+        }
+    }
+
+    @Test
+    void reportsForTheSameSectionAreMergedAndTheLatestIsWritten() {
+        start(10, 2);
+
+        ingestion.submit(event(1L, 10L, ProgressStatus.INCOMPLETE));
+        ingestion.submit(event(1L, 10L, ProgressStatus.COMPLETED));
+        assertEquals(1, ingestion.pendingEvents());
+        verifyNoInteractions(progressService);
+
+        // A second section fills the batch of two
+        ingestion.submit(event(1L, 11L, ProgressStatus.INCOMPLETE));
+
+        List<ProgressEvent> batch = writtenBatch();
+        assertEquals(2, batch.size());
+        assertEquals(10L, batch.get(0).sectionId());
+        assertEquals(ProgressStatus.COMPLETED, batch.get(0).status());
+        assertEquals(11L, batch.get(1).sectionId());
+        assertEquals(1.0, meterRegistry.get("progress.ingest.events").tag("outcome", "coalesced").counter().count());
+    }
+
+    @Test
+    void differentLearnersOnOneSectionAreNotMerged() {
+        start(10, 100);
+
+        ingestion.submit(event(1L, 10L, ProgressStatus.COMPLETED));
+        ingestion.submit(event(2L, 10L, ProgressStatus.COMPLETED));
+
+        assertEquals(2, ingestion.pendingEvents());
+    }
+
+    @Test
+    void fullQueueTurnsNewSectionsAwayButStillMergesQueuedOnes() {
+        start(1, 100);
+        ingestion.submit(event(1L, 10L, ProgressStatus.INCOMPLETE));
+
+        assertThrows(IngestionCapacityExceededException.class, () -> ingestion.submit(event(1L, 11L, ProgressStatus.INCOMPLETE)));
+        ingestion.submit(event(1L, 10L, ProgressStatus.COMPLETED));
+
+        assertEquals(1, ingestion.pendingEvents());
+        assertEquals(1.0, meterRegistry.get("progress.ingest.events").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void stoppingWritesWhatIsStillQueued() {
+        start(10, 100);
+        ingestion.submit(event(1L, 10L, ProgressStatus.COMPLETED));
+
+        ingestion.stop();
+
+        assertEquals(List.of(10L), writtenBatch().stream().map(ProgressEvent::sectionId).toList());
+        assertEquals(0, ingestion.pendingEvents());
+        assertThrows(IngestionCapacityExceededException.class, () -> ingestion.submit(event(1L, 12L, ProgressStatus.COMPLETED)));
+    }
+
+    private void start(int capacity, int batchSize) {
+        ingestion = new ProgressIngestionServiceImpl(progressService, meterRegistry, capacity, batchSize,
+                Duration.ofHours(1), Duration.ofMillis(10));
+        ingestion.start();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ProgressEvent> writtenBatch() {
+        ArgumentCaptor<Collection<ProgressEvent>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(progressService, timeout(5000)).recordProgress(captor.capture());
+        return List.copyOf(captor.getValue());
+    }
+
+    private static ProgressEvent event(Long userId, Long sectionId, ProgressStatus status) {
+        return new ProgressEvent(userId, 1L, 1L, sectionId, status, new Date());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.skillhub.support;
+
+import com.example.skillhub.config.SqlStatementBudgetFilter;
+import com.example.skillhub.config.SqlStatementCounter;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Pins how many SQL statements a request or a block of code issues, so that an
+ * added eager association or an N+1 loop fails a test instead of loading the
+ * database in production:
+ * <pre>
+ * mvc.perform(get("/api/courses/1")).andExpect(SqlStatements.selects(1));
+ * SqlStatements.assertAtMost(3, () -> courseService.getCourseTree(1L));
+ * </pre>
+ * Request counts rely on {@link SqlStatementBudgetFilter}, which MockMvc picks up
+ * with {@code @AutoConfigureMockMvc}.
+ */
+public final class SqlStatements {
+
+    private SqlStatements() {
+    }
+
+    public static ResultMatcher total(int expected) {
+        return result -> check("statements", SqlStatementCounter.Counts::total, expected, false, counts(result));
+    }
+
+    public static ResultMatcher selects(int expected) {
+        return result -> check("selects", SqlStatementCounter.Counts::selects, expected, false, counts(result));
+    }
+
+    public static ResultMatcher atMost(int max) {
+        return result -> check("statements", SqlStatementCounter.Counts::total, max, true, counts(result));
+    }
+
+    public static void assertTotal(int expected, Runnable action) {
+        check("statements", SqlStatementCounter.Counts::total, expected, false, SqlStatementCounter.count(action));
+    }
+
+    public static void assertAtMost(int max, Runnable action) {
+        check("statements", SqlStatementCounter.Counts::total, max, true, SqlStatementCounter.count(action));
+    }
+
+    /**
+     * The counts recorded for a request, for comparing requests with each other
+     * rather than against a fixed number.
+     */
+    public static SqlStatementCounter.Counts of(MvcResult result) {
+        return counts(result);
+    }
+
+    private static SqlStatementCounter.Counts counts(MvcResult result) {
+        Object counts = result.getRequest().getAttribute(SqlStatementBudgetFilter.COUNTS_ATTRIBUTE);
+        assertNotNull(counts, "No SQL statement counts on the request; is SqlStatementBudgetFilter registered?");
+        return (SqlStatementCounter.Counts) counts;
+    }
+
+    private static void check(String what, ToIntFunction<SqlStatementCounter.Counts> measure, int expected,
+                              boolean upperBound, SqlStatementCounter.Counts counts) {
+        int actual = measure.applyAsInt(counts);
+        if (upperBound ? actual <= expected : actual == expected) {
+            return;
+        }
+        Map.Entry<String, Integer> repeated = counts.mostRepeated();
+        fail("Expected " + (upperBound ? "at most " : "") + expected + " " + what + " but got " + actual
+                + ": " + counts + (repeated == null ? "" : "; most repeated (" + repeated.getValue() + "x): " + repeated.getKey()));
+    }
+}
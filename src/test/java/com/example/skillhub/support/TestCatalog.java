@@ -0,0 +1,75 @@
+package com.example.skillhub.support;
+
+import com.example.skillhub.domain.Author;
+import com.example.skillhub.domain.Course;
+import com.example.skillhub.domain.CustomUserDetails;
+import com.example.skillhub.domain.Lesson;
+import com.example.skillhub.domain.Section;
+import com.example.skillhub.enums.ContentType;
+import com.example.skillhub.repositories.AuthorRepository;
+import com.example.skillhub.services.CourseService;
+import com.example.skillhub.services.LessonService;
+import com.example.skillhub.services.SectionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+
+/**
+ * Creates authors, courses, lessons and sections through the services, so tests
+ * start from the same state the API would leave behind. The test database is
+ * shared between test classes, so every author gets a fresh email and tests
+ * should only look at rows they created.
+ */
+public class TestCatalog {
+
+    private final AuthorRepository authorRepository;
+    private final CourseService courseService;
+    private final LessonService lessonService;
+    private final SectionService sectionService;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public TestCatalog(AuthorRepository authorRepository, CourseService courseService, LessonService lessonService,
+                       SectionService sectionService, EntityManagerFactory entityManagerFactory) {
+        this.authorRepository = authorRepository;
+        this.courseService = courseService;
+        this.lessonService = lessonService;
+        this.sectionService = sectionService;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public Author author(String name) {
+        String email = name.toLowerCase().replace(' ', '.') + "+" + UUID.randomUUID() + "@example.com";
+        return authorRepository.save(Author.builder()
+                .email(email).name(name).role("ROLE_USER").status("active").password("unused").build());
+    }
+
+    public Course course(Author owner, String title) {
+        return courseService.createCourse(Course.builder().title(title).category("Programming").level("Beginner")
+                .user(owner).build());
+    }
+
+    public Lesson lesson(Course course, String title) {
+        return lessonService.createLesson(Lesson.builder().title(title).course(course).build());
+    }
+
+    public Section section(Lesson lesson, String title) {
+        return sectionService.createSection(Section.builder().title(title).contentType(ContentType.TEXT)
+                .lesson(lesson).build());
+    }
+
+    /**
+     * Empties the second-level and query caches, so the next request's statement
+     * count does not depend on what earlier tests happened to load.
+     */
+    public void evictCaches() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    public static RequestPostProcessor as(Author author) {
+        return user(new CustomUserDetails(author));
+    }
+}